@@ -0,0 +1,119 @@
+package puzzle.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleModel;
+import puzzle.model.PuzzleState;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the hot paths of the model: move generation, move validation, cloning, making and taking back moves, and hashing.
+ * <p>
+ * Every benchmark runs on the starting layout of the board given by the {@code config} parameter, both through the
+ * JavaFX {@link PuzzleModel} used by the user interface and through the headless {@link PuzzleState} used by the
+ * solvers.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+
+    @Param({
+            "5x4 .B.B/..../..../..../.W.W .W.W/..../..../..../.B.B",
+            "6x6 ..BB../....../....../....../....../..WW.. ..WW../....../....../....../....../..BB..",
+            "8x8 BBBBBBBB/......../......../......../......../......../......../WWWWWWWW "
+                    + "WWWWWWWW/......../......../......../......../......../......../BBBBBBBB"
+    })
+    private String config;
+
+    private PuzzleModel model;
+
+    private PuzzleState state;
+
+    private TwoPhaseMove<Position> legalMove;
+
+    private TwoPhaseMove<Position> illegalMove;
+
+    private int[] buffer;
+
+    @Setup
+    public void setUp() {
+        PuzzleConfig puzzleConfig = PuzzleConfig.parse(config);
+        model = new PuzzleModel(puzzleConfig);
+        state = new PuzzleState(puzzleConfig);
+        legalMove = state.getLegalMoves().iterator().next();
+        Position corner = new Position(0, 0);
+        illegalMove = new TwoPhaseMove<>(corner, new Position(puzzleConfig.getRows() - 1, puzzleConfig.getCols() - 1));
+        buffer = new int[puzzleConfig.getMaxMoves()];
+        state.getLegalMoves(buffer);
+    }
+
+    @Benchmark
+    public Set<TwoPhaseMove<Position>> modelGetLegalMoves() {
+        return model.getLegalMoves();
+    }
+
+    @Benchmark
+    public boolean modelIsLegalMove() {
+        return model.isLegalMove(legalMove);
+    }
+
+    @Benchmark
+    public boolean modelIsIllegalMove() {
+        return model.isLegalMove(illegalMove);
+    }
+
+    @Benchmark
+    public PuzzleModel modelClone() {
+        return model.clone();
+    }
+
+    @Benchmark
+    public int modelHashCode() {
+        return model.hashCode();
+    }
+
+    @Benchmark
+    public int stateGetLegalMovesIntoBuffer() {
+        return state.getLegalMoves(buffer);
+    }
+
+    @Benchmark
+    public PuzzleState stateClone() {
+        return state.clone();
+    }
+
+    @Benchmark
+    public long stateMakeUnmakeMove() {
+        int from = state.getConfig().moveFrom(buffer[0]);
+        int to = state.getConfig().moveTo(buffer[0]);
+        state.makeMove(from, to);
+        long hash = state.getZobristHash();
+        state.unmakeMove(from, to);
+        return hash;
+    }
+
+    @Benchmark
+    public int stateHashCode() {
+        return state.hashCode();
+    }
+
+}
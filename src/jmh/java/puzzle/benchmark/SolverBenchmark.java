@@ -0,0 +1,60 @@
+package puzzle.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+import puzzle.solver.PuzzleSolver;
+import puzzle.solver.Solution;
+import puzzle.solver.SolverMode;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of full solves from the starting layout, for every {@link SolverMode} and several board sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({
+            "5x4 .B.B/..../..../..../.W.W .W.W/..../..../..../.B.B",
+            "4x5 ..BB./...../...../..WW. ..WW./...../...../..BB.",
+            "6x6 ..BB../....../....../....../....../..WW.. ..WW../....../....../....../....../..BB..",
+            "7x5 B...B/...../...../...../...../...../W...W W...W/...../...../...../...../...../B...B"
+    })
+    private String config;
+
+    @Param
+    private SolverMode mode;
+
+    private PuzzleState start;
+
+    private PuzzleSolver solver;
+
+    @Setup
+    public void setUp() {
+        start = new PuzzleState(PuzzleConfig.parse(config));
+        solver = mode.createSolver();
+    }
+
+    @Benchmark
+    public Optional<Solution> solve() {
+        return solver.solve(start);
+    }
+
+}
@@ -0,0 +1,235 @@
+package puzzle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.tinylog.configuration.Configuration;
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+import puzzle.solver.Solution;
+import puzzle.solver.SolverMetrics;
+import puzzle.solver.SolverMode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Headless command-line solver of many configurations of the puzzle.
+ * <p>
+ * The configurations are read one per line in the text notation of {@link PuzzleConfig#parse(String)}, blank lines
+ * and lines starting with {@code #} are skipped. They are solved in parallel by a fixed number of worker threads, and
+ * at most twice as many configurations are read ahead of the workers, so the input can be arbitrarily long. The result
+ * of each configuration is written as a line of JSON as soon as it is solved, so the lines are in the order of
+ * completion rather than of the input, and each names the line of the input it belongs to.
+ * </p>
+ * <p>
+ * Usage: {@code BatchSolver [--mode MODE] [--threads N] [FILE]}, reading the standard input if no file, or {@code -},
+ * is given. The exit status is 1 if any configuration could not be solved due to an error, and 2 on invalid arguments.
+ * </p>
+ */
+public class BatchSolver {
+
+    /**
+     * The mode of solving used when none is specified.
+     */
+    public static final SolverMode DEFAULT_MODE = SolverMode.COLOR_COMPLEX;
+
+    private final SolverMode mode;
+
+    private final int threads;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Constructs a batch solver.
+     *
+     * @param mode    The mode of solving the configurations.
+     * @param threads The number of worker threads.
+     * @throws IllegalArgumentException If the number of threads is not positive.
+     */
+    public BatchSolver(SolverMode mode, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        this.mode = mode;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) {
+        // The results are written to the standard output, so the log is kept out of it.
+        Configuration.set("writer", "console");
+        Configuration.set("writer.stream", "err");
+        Configuration.set("writer.level", "info");
+        SolverMode mode = DEFAULT_MODE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String file = "-";
+        try {
+            for (var i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--mode" -> mode = SolverMode.valueOf(argument(args, ++i));
+                    case "--threads" -> threads = Integer.parseInt(argument(args, ++i));
+                    default -> {
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + args[i]);
+                        }
+                        file = args[i];
+                    }
+                }
+            }
+            BatchSolver solver = new BatchSolver(mode, threads);
+            try (Reader in = file.equals("-") ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                    : Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+                Writer out = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+                System.exit(solver.solveAll(in, out) == 0 ? 0 : 1);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: BatchSolver [--mode MODE] [--threads N] [FILE]");
+            System.exit(2);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+
+    private static String argument(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value of " + args[i - 1]);
+        }
+        return args[i];
+    }
+
+    /**
+     * Solves the configurations read from a reader and writes the results to a writer as JSON Lines.
+     * <p>
+     * Each result holds the number of the input {@code line}, the {@code config} and either an {@code error}, or the
+     * {@code solver}, whether the configuration is {@code solvable}, the {@code length} and the {@code moves} of a
+     * shortest solution as {@code from} and {@code to} pairs of row and column, the {@code nodesExpanded},
+     * {@code visited} and {@code levels} of the search, and the {@code solveMillis} it took.
+     * </p>
+     *
+     * @param in  The reader of the configurations, not closed by this method.
+     * @param out The writer of the results, flushed after each result and not closed by this method.
+     * @return The number of configurations that could not be solved due to an error.
+     * @throws IOException          If reading the configurations or writing the results fails.
+     * @throws InterruptedException If interrupted while reading ahead or waiting for the workers, which are then
+     *                              interrupted too, abandoning the configurations not solved yet.
+     */
+    public int solveAll(Reader in, Writer out) throws IOException, InterruptedException {
+        BufferedReader reader = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in);
+        AtomicInteger workerNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-solver-" + workerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore pending = new Semaphore(2 * threads);
+        AtomicInteger errors = new AtomicInteger();
+        AtomicReference<IOException> writeFailure = new AtomicReference<>();
+        try {
+            String line;
+            var number = 0;
+            while ((line = reader.readLine()) != null && writeFailure.get() == null) {
+                number++;
+                String notation = line.strip();
+                if (notation.isEmpty() || notation.startsWith("#")) {
+                    continue;
+                }
+                pending.acquire();
+                int lineNumber = number;
+                workers.execute(() -> {
+                    try {
+                        ObjectNode result = solve(lineNumber, notation);
+                        if (result.has("error")) {
+                            errors.incrementAndGet();
+                        }
+                        write(result, out);
+                    } catch (CancellationException e) {
+                        // The batch has been abandoned, so the result is not written.
+                    } catch (IOException e) {
+                        writeFailure.compareAndSet(null, e);
+                    } finally {
+                        pending.release();
+                    }
+                });
+            }
+        } catch (InterruptedException | IOException e) {
+            workers.shutdownNow();
+            throw e;
+        } finally {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                workers.shutdownNow();
+                throw e;
+            }
+        }
+        if (writeFailure.get() != null) {
+            throw writeFailure.get();
+        }
+        return errors.get();
+    }
+
+    private ObjectNode solve(int lineNumber, String notation) {
+        ObjectNode result = mapper.createObjectNode();
+        result.put("line", lineNumber);
+        result.put("config", notation);
+        try {
+            PuzzleConfig config = PuzzleConfig.parse(notation);
+            SolverMetrics metrics = new SolverMetrics();
+            Optional<Solution> solution = mode.createSolver().solve(new PuzzleState(config), metrics);
+            result.put("solver", metrics.getSolver());
+            result.put("solvable", solution.isPresent());
+            solution.ifPresent(s -> {
+                result.put("length", s.length());
+                ArrayNode moves = result.putArray("moves");
+                for (TwoPhaseMove<Position> move : s.moves()) {
+                    ObjectNode node = moves.addObject();
+                    node.putArray("from").add(move.from().row()).add(move.from().col());
+                    node.putArray("to").add(move.to().row()).add(move.to().col());
+                }
+            });
+            result.put("nodesExpanded", metrics.getNodesExpanded());
+            result.put("visited", metrics.getVisitedSize());
+            result.put("levels", metrics.getDepth());
+            result.put("solveMillis", metrics.getWallNanos() / 1e6);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (RuntimeException | OutOfMemoryError e) {
+            result.put("error", e.toString());
+        }
+        return result;
+    }
+
+    private void write(ObjectNode result, Writer out) throws IOException {
+        String json = mapper.writeValueAsString(result);
+        synchronized (out) {
+            out.write(json);
+            out.write('\n');
+            out.flush();
+        }
+    }
+
+}
@@ -5,6 +5,8 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import puzzle.results.GameResultStore;
+import puzzle.solver.SolverService;
 
 import java.io.IOException;
 
@@ -33,4 +35,13 @@ public class PuzzleApplication extends Application {
         stage.show();
     }
 
+    /**
+     * Stops the application, cancelling the running solver and writing the game results still queued.
+     */
+    @Override
+    public void stop() {
+        SolverService.closeDefault();
+        GameResultStore.closeDefault();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package puzzle.controllers;
+
+import javafx.scene.Node;
+import puzzle.model.Position;
+import puzzle.model.PuzzleModel;
+
+import java.util.function.Consumer;
+
+/**
+ * A view of the board of a {@link puzzle.model.PuzzleModel}.
+ * <p>
+ * A renderer follows the changes of the model by itself and redraws only the squares changed by a move. The
+ * controller only tells it which square is selected and is told which square is clicked.
+ * </p>
+ * <p>
+ * The renderer is chosen by the {@value #SYSTEM_PROPERTY} system property: {@code nodes} for the
+ * {@link NodeBoardRenderer}, {@code canvas} for the {@link CanvasBoardRenderer}, or {@code auto}, the default, for the
+ * former on boards of at most {@value #MAX_NODE_SQUARES} squares and the latter on larger ones.
+ * </p>
+ */
+public interface BoardRenderer {
+
+    /**
+     * The name of the system property selecting the renderer.
+     */
+    String SYSTEM_PROPERTY = "puzzle.renderer";
+
+    /**
+     * The largest number of squares of a board rendered by nodes when the renderer is chosen automatically.
+     */
+    int MAX_NODE_SQUARES = 36;
+
+    /**
+     * Creates the renderer of the board of a model selected by the {@value #SYSTEM_PROPERTY} system property.
+     *
+     * @param model  The model.
+     * @param width  The width of the board.
+     * @param height The height of the board.
+     * @return The renderer.
+     * @throws IllegalArgumentException If the property does not name a renderer.
+     */
+    static BoardRenderer create(PuzzleModel model, double width, double height) {
+        String renderer = System.getProperty(SYSTEM_PROPERTY, "auto");
+        return switch (renderer) {
+            case "nodes" -> new NodeBoardRenderer(model, width, height);
+            case "canvas" -> new CanvasBoardRenderer(model, width, height);
+            case "auto" -> model.getConfig().getSquares() > MAX_NODE_SQUARES
+                    ? new CanvasBoardRenderer(model, width, height) : new NodeBoardRenderer(model, width, height);
+            default -> throw new IllegalArgumentException("Unknown renderer: " + renderer);
+        };
+    }
+
+    /**
+     * Gets the node showing the board, to be added to the scene graph.
+     *
+     * @return The node of the board.
+     */
+    Node getNode();
+
+    /**
+     * Marks a square as selected or not.
+     *
+     * @param position The position of the square.
+     * @param selected Whether the square is selected.
+     */
+    void setSelected(Position position, boolean selected);
+
+    /**
+     * Sets the handler of clicks on the squares of the board.
+     *
+     * @param handler The handler, receiving the position of the square clicked.
+     */
+    void setOnSquareClicked(Consumer<Position> handler);
+
+}
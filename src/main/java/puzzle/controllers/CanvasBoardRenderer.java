@@ -0,0 +1,183 @@
+package puzzle.controllers;
+
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import puzzle.model.Bishop;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleModel;
+
+import java.util.function.Consumer;
+
+/**
+ * Renders the board onto a single {@link Canvas}, for boards too large for a node per square.
+ * <p>
+ * The board is painted once in full, after which only dirty squares are repainted: the two squares of the
+ * {@link PuzzleModel#lastMoveProperty() last move}, the squares entering and leaving hover, and the squares selected
+ * or deselected. Every square is painted opaquely within its own rectangle, so repainting it needs neither clearing
+ * nor repainting its neighbours. Clicks are mapped back to positions by dividing the coordinates by the size of a
+ * square. The colors match the style sheet of the {@link NodeBoardRenderer}.
+ * </p>
+ */
+public class CanvasBoardRenderer implements BoardRenderer {
+
+    private static final Color LIGHT = Color.web("#ffffe0");
+
+    private static final Color LIGHT_HOVER = Color.web("#ffffa5");
+
+    private static final Color DARK = Color.web("#d2f8d2");
+
+    private static final Color DARK_HOVER = Color.web("#b0f3b0");
+
+    private static final Color SELECTION = Color.SLATEGRAY;
+
+    private static final double SELECTION_WIDTH = 5;
+
+    private final PuzzleModel model;
+
+    private final PuzzleConfig config;
+
+    private final Canvas canvas;
+
+    private final double squareWidth;
+
+    private final double squareHeight;
+
+    private final double radius;
+
+    /**
+     * Whether the squares are selected, indexed by square number.
+     */
+    private final boolean[] selected;
+
+    /**
+     * The square number of the square under the mouse, or -1 if none.
+     */
+    private int hovered = -1;
+
+    private Consumer<Position> onSquareClicked = position -> {
+    };
+
+    /**
+     * Constructs a renderer of the board of a model.
+     *
+     * @param model  The model.
+     * @param width  The width of the board.
+     * @param height The height of the board.
+     */
+    public CanvasBoardRenderer(PuzzleModel model, double width, double height) {
+        this.model = model;
+        config = model.getConfig();
+        canvas = new Canvas(width, height);
+        squareWidth = width / config.getCols();
+        squareHeight = height / config.getRows();
+        radius = NodeBoardRenderer.pieceRadius(config, width, height);
+        selected = new boolean[config.getSquares()];
+        for (var square = 0; square < config.getSquares(); square++) {
+            paint(square);
+        }
+        model.lastMoveProperty().addListener((observable, oldMove, move) -> {
+            if (move != null) {
+                paint(config.square(move.from()));
+                paint(config.square(move.to()));
+            }
+        });
+        canvas.setOnMouseMoved(event -> hover(squareAt(event)));
+        canvas.setOnMouseExited(event -> hover(-1));
+        canvas.setOnMouseClicked(event -> {
+            int square = squareAt(event);
+            if (square >= 0) {
+                onSquareClicked.accept(config.position(square));
+            }
+        });
+    }
+
+    @Override
+    public Node getNode() {
+        return canvas;
+    }
+
+    @Override
+    public void setSelected(Position position, boolean selected) {
+        int square = config.square(position);
+        if (this.selected[square] != selected) {
+            this.selected[square] = selected;
+            paint(square);
+        }
+    }
+
+    @Override
+    public void setOnSquareClicked(Consumer<Position> handler) {
+        onSquareClicked = handler;
+    }
+
+    /**
+     * Moves the hover to another square, repainting the squares entered and left.
+     *
+     * @param square The square number of the square under the mouse, or -1 if none.
+     */
+    private void hover(int square) {
+        if (square != hovered) {
+            int left = hovered;
+            hovered = square;
+            if (left >= 0) {
+                paint(left);
+            }
+            if (square >= 0) {
+                paint(square);
+            }
+        }
+    }
+
+    /**
+     * Returns the square under the mouse.
+     *
+     * @param event The mouse event.
+     * @return The square number, or -1 if the mouse is outside the board.
+     */
+    private int squareAt(MouseEvent event) {
+        var row = (int) Math.floor(event.getY() / squareHeight);
+        var col = (int) Math.floor(event.getX() / squareWidth);
+        if (row < 0 || row >= config.getRows() || col < 0 || col >= config.getCols()) {
+            return -1;
+        }
+        return config.square(new Position(row, col));
+    }
+
+    /**
+     * Paints a square of the board with its piece, within the rectangle of the square.
+     *
+     * @param square The square number.
+     */
+    private void paint(int square) {
+        Position position = config.position(square);
+        // The edges are rounded to whole pixels, so that neighbouring squares share them without seams.
+        double left = Math.round(position.col() * squareWidth);
+        double top = Math.round(position.row() * squareHeight);
+        double width = Math.round((position.col() + 1) * squareWidth) - left;
+        double height = Math.round((position.row() + 1) * squareHeight) - top;
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        boolean light = (position.row() + position.col()) % 2 == 0;
+        if (light) {
+            graphics.setFill(square == hovered ? LIGHT_HOVER : LIGHT);
+        } else {
+            graphics.setFill(square == hovered ? DARK_HOVER : DARK);
+        }
+        graphics.fillRect(left, top, width, height);
+        if (selected[square]) {
+            graphics.setStroke(SELECTION);
+            graphics.setLineWidth(SELECTION_WIDTH);
+            graphics.strokeRect(left + SELECTION_WIDTH / 2, top + SELECTION_WIDTH / 2, width - SELECTION_WIDTH,
+                    height - SELECTION_WIDTH);
+        }
+        Bishop bishop = model.getBishop(position);
+        if (bishop != Bishop.NONE) {
+            graphics.setFill(NodeBoardRenderer.paint(bishop));
+            graphics.fillOval(left + width / 2 - radius, top + height / 2 - radius, 2 * radius, 2 * radius);
+        }
+    }
+
+}
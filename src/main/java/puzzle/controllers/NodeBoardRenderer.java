@@ -0,0 +1,125 @@
+package puzzle.controllers;
+
+import javafx.css.PseudoClass;
+import javafx.scene.Node;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.RowConstraints;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Circle;
+import puzzle.model.Bishop;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleModel;
+
+import java.util.function.Consumer;
+
+/**
+ * Renders the board as a grid of nodes, one square with a piece per position.
+ * <p>
+ * The squares are indexed by their square number, so a square is found in constant time rather than by scanning the
+ * children of the grid. Each piece follows the bishop property of its position, which changes only for the squares
+ * touched by a move, so a move updates only those two pieces. Hovering and selection are shown by the
+ * {@code :hover} and {@code :selected} CSS pseudo-classes of the squares, with the light and dark squares told
+ * apart by the {@code light} and {@code dark} style classes, so no inline styles are parsed.
+ * </p>
+ */
+public class NodeBoardRenderer implements BoardRenderer {
+
+    private static final PseudoClass SELECTED = PseudoClass.getPseudoClass("selected");
+
+    private final PuzzleConfig config;
+
+    private final GridPane grid = new GridPane();
+
+    /**
+     * The squares of the board, indexed by square number.
+     */
+    private final StackPane[] squares;
+
+    private Consumer<Position> onSquareClicked = position -> {
+    };
+
+    /**
+     * Constructs a renderer of the board of a model.
+     *
+     * @param model  The model.
+     * @param width  The preferred width of the board.
+     * @param height The preferred height of the board.
+     */
+    public NodeBoardRenderer(PuzzleModel model, double width, double height) {
+        config = model.getConfig();
+        squares = new StackPane[config.getSquares()];
+        for (var j = 0; j < config.getCols(); j++) {
+            grid.getColumnConstraints().add(new ColumnConstraints(10.0, 100.0, Double.MAX_VALUE, Priority.SOMETIMES,
+                    null, true));
+        }
+        for (var i = 0; i < config.getRows(); i++) {
+            grid.getRowConstraints().add(new RowConstraints(10.0, 30.0, Double.MAX_VALUE, Priority.SOMETIMES,
+                    null, true));
+        }
+        grid.setPrefSize(width, height);
+        double radius = pieceRadius(config, width, height);
+        for (var i = 0; i < config.getRows(); i++) {
+            for (var j = 0; j < config.getCols(); j++) {
+                Position position = new Position(i, j);
+                var square = new StackPane();
+                square.getStyleClass().addAll("square", (i + j) % 2 == 0 ? "light" : "dark");
+                var piece = new Circle(radius);
+                var bishop = model.bishopProperty(i, j);
+                piece.setFill(paint(bishop.get()));
+                bishop.addListener((observable, oldBishop, newBishop) -> piece.setFill(paint(newBishop)));
+                square.getChildren().add(piece);
+                square.setOnMouseClicked(event -> onSquareClicked.accept(position));
+                squares[config.square(position)] = square;
+                grid.add(square, j, i);
+            }
+        }
+    }
+
+    /**
+     * Computes the radius of the bishop pieces, so that they fit into the squares of larger boards.
+     *
+     * @param config The configuration of the puzzle.
+     * @param width  The width of the board.
+     * @param height The height of the board.
+     * @return The radius of the pieces.
+     */
+    static double pieceRadius(PuzzleConfig config, double width, double height) {
+        double square = Math.min(width / config.getCols(), height / config.getRows());
+        return Math.min(40, 0.35 * square);
+    }
+
+    /**
+     * Returns the color of a bishop.
+     *
+     * @param bishop The bishop.
+     * @return The color of the piece.
+     */
+    static Paint paint(Bishop bishop) {
+        return switch (bishop) {
+            case NONE -> Color.TRANSPARENT;
+            case BLACK -> Color.BLACK;
+            case WHITE -> Color.WHITE;
+        };
+    }
+
+    @Override
+    public Node getNode() {
+        return grid;
+    }
+
+    @Override
+    public void setSelected(Position position, boolean selected) {
+        squares[config.square(position)].pseudoClassStateChanged(SELECTED, selected);
+    }
+
+    @Override
+    public void setOnSquareClicked(Consumer<Position> handler) {
+        onSquareClicked = handler;
+    }
+
+}
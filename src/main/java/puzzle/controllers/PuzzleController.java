@@ -1,34 +1,41 @@
 package puzzle.controllers;
 
-import gameresult.manager.OnePlayerGameResultManager;
-import gameresult.manager.json.JsonOnePlayerGameResultManager;
-import javafx.beans.binding.ObjectBinding;
-import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.geometry.Insets;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
-import javafx.scene.layout.GridPane;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
-import javafx.scene.paint.Paint;
-import javafx.scene.shape.Circle;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 import lombok.Getter;
 import lombok.Setter;
 import org.tinylog.Logger;
 import puzzle.TwoPhaseMoveState;
-import puzzle.model.Bishop;
 import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
 import puzzle.model.PuzzleModel;
+import puzzle.model.PuzzleState;
+import puzzle.results.GameResultStore;
+import puzzle.solver.DistanceTable;
+import puzzle.solver.HintEngine;
+import puzzle.solver.Solution;
+import puzzle.solver.SolverService;
 import gameresult.OnePlayerGameResult;
 
 import java.io.IOException;
-import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -37,14 +44,44 @@ import java.time.ZonedDateTime;
  * This class handles user interactions with the puzzle board, such as mouse clicks and selection highlighting.
  * It also manages the puzzle model and enforces game rules.
  * </p>
+ * <p>
+ * The puzzle is given by the {@value PuzzleConfig#SYSTEM_PROPERTY} system property, or is the standard puzzle if the
+ * property is not set, and the board is drawn by a {@link BoardRenderer} sized to match it.
+ * </p>
+ * <p>
+ * Moves can be undone with {@code Shortcut+Z} and redone with {@code Shortcut+Y}.
+ * </p>
+ * <p>
+ * The solve button requests a shortest solution from the current layout from the {@link SolverService}, which
+ * searches in the background, so the solver is only started when asked for, and the request is cancelled when the
+ * puzzle window is closed.
+ * </p>
+ * <p>
+ * The hint button shows the best next move. The first hint loads the distance table of the puzzle in the background,
+ * later hints and the number of moves the player is from an optimal game, shown after every move from then on, are
+ * looked up in it without searching.
+ * </p>
  */
 public class PuzzleController {
-    private final PuzzleModel model = new PuzzleModel();
+    private final PuzzleModel model = new PuzzleModel(PuzzleConfig.fromSystemProperty());
     @Getter
-    private final OnePlayerGameResultManager resultManager = new JsonOnePlayerGameResultManager(Paths.get("puzzle_results.json"));
+    private final GameResultStore resultManager = GameResultStore.getDefault();
     ZonedDateTime startTime = ZonedDateTime.now();
+    private final SolverService solverService = SolverService.getDefault();
+    private CompletableFuture<Optional<Solution>> pendingSolution;
+    private HintEngine hintEngine;
+    private CompletableFuture<HintEngine> pendingHintEngine;
+    @FXML
+    private StackPane board;
+    private BoardRenderer renderer;
+    @FXML
+    private Button solveButton;
     @FXML
-    private GridPane board;
+    private Button hintButton;
+    @FXML
+    private Label solutionLabel;
+    @FXML
+    private Label optimalLabel;
     private Position currentPosition;
     @Getter
     @Setter
@@ -56,80 +93,190 @@ public class PuzzleController {
     @FXML
     private void initialize() {
         startTime = ZonedDateTime.now();
-        for (var i = 0; i < board.getRowCount(); i++) {
-            for (var j = 0; j < board.getColumnCount(); j++) {
-                var square = createSquare(i, j);
-                board.add(square, j, i);
+        Insets padding = board.getPadding();
+        renderer = BoardRenderer.create(model, board.getPrefWidth() - padding.getLeft() - padding.getRight(),
+                board.getPrefHeight() - padding.getTop() - padding.getBottom());
+        renderer.setOnSquareClicked(position -> handleMouseClick(position.row(), position.col()));
+        board.getChildren().setAll(renderer.getNode());
+        board.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (newScene != null) {
+                newScene.getAccelerators().put(new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN),
+                        this::undo);
+                newScene.getAccelerators().put(new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN),
+                        this::redo);
+                newScene.windowProperty().addListener((windowObservable, oldWindow, newWindow) -> {
+                    if (newWindow != null) {
+                        newWindow.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> cancelRequests());
+                    }
+                });
+            } else {
+                cancelRequests();
+            }
+        });
+        model.move().addListener((observable, oldMoves, newMoves) -> {
+            if (pendingSolution == null && pendingHintEngine == null) {
+                solutionLabel.setText("");
             }
+            showProgress();
+        });
+    }
+
+    /**
+     * Shows the best next move, loading the hint engine first if needed.
+     */
+    @FXML
+    private void handleHint() {
+        if (hintEngine != null) {
+            showHint();
+            return;
         }
+        hintButton.setDisable(true);
+        solutionLabel.setText("Loading hints...");
+        CompletableFuture<HintEngine> request = solverService.hintEngine(model.getConfig());
+        pendingHintEngine = request;
+        request.whenComplete((engine, failure) -> Platform.runLater(() -> {
+            if (pendingHintEngine == request) {
+                pendingHintEngine = null;
+                if (failure != null) {
+                    Logger.warn("Hints are not available: {}", failure.getMessage());
+                    solutionLabel.setText("Hints are not available for this puzzle");
+                } else {
+                    hintEngine = engine;
+                    hintButton.setDisable(false);
+                    showHint();
+                    showProgress();
+                }
+            }
+        }));
     }
 
     /**
-     * Creates a square representing a position on the puzzle board.
-     *
-     * @param row The row index of the square.
-     * @param col The column index of the square.
-     * @return The StackPane representing the square.
+     * Shows the best next move from the current layout.
      */
-    private StackPane createSquare(int row, int col) {
-        var square = new StackPane();
-        square.getStyleClass().add("square");
+    private void showHint() {
+        PuzzleState state = model.getState();
+        hintEngine.bestMove(state).ifPresentOrElse(
+                move -> solutionLabel.setText(String.format("Hint: %s, %d moves to go", format(move),
+                        hintEngine.distance(state))),
+                () -> solutionLabel.setText(state.isSolved() ? "Solved" : "No solution from this position"));
+    }
 
-        if ((row + col) % 2 == 0) {
-            square.setStyle("-fx-background-color: #ffffe0;");
-        } else {
-            square.setStyle("-fx-background-color: #d2f8d2;");
+    /**
+     * Shows how many moves the player is from an optimal game, once the hint engine is loaded.
+     */
+    private void showProgress() {
+        if (hintEngine != null) {
+            int movesFromOptimal = hintEngine.movesFromOptimal(model.getState(), model.getMoves());
+            optimalLabel.setText(movesFromOptimal == DistanceTable.UNSOLVABLE ? ""
+                    : movesFromOptimal + " moves from optimal");
         }
+    }
 
-        square.setOnMouseEntered(event -> {
-            if ((row + col) % 2 == 0) {
-                square.setStyle(square.getStyle() + "-fx-background-color: #ffffa5;");
-            }
-            if ((row + col) % 2 != 0) {
-                square.setStyle(square.getStyle() + "-fx-background-color: #b0f3b0;");
+    /**
+     * Requests a shortest solution from the current layout, shown when the solver is done.
+     */
+    @FXML
+    private void handleSolve() {
+        cancelSolution();
+        PuzzleState start = model.getState();
+        solveButton.setDisable(true);
+        solutionLabel.setText("Solving...");
+        CompletableFuture<Optional<Solution>> request = solverService.solve(start);
+        pendingSolution = request;
+        request.whenComplete((solution, failure) -> Platform.runLater(() -> {
+            if (pendingSolution == request) {
+                pendingSolution = null;
+                showSolution(start, solution, failure);
             }
-        });
+        }));
+    }
+
+    /**
+     * Shows the solution found from a layout, unless the board has changed since.
+     *
+     * @param start    The layout the solution starts from.
+     * @param solution The solution, or an empty {@link Optional} if there is none, or {@code null} on failure.
+     * @param failure  The reason of the failure, or {@code null}.
+     */
+    private void showSolution(PuzzleState start, Optional<Solution> solution, Throwable failure) {
+        solveButton.setDisable(false);
+        if (failure != null) {
+            Logger.error("Failed to solve the puzzle: {}", failure.getMessage());
+            solutionLabel.setText("Failed to solve the puzzle");
+        } else if (!start.equals(model.getState())) {
+            solutionLabel.setText("");
+        } else if (solution.isEmpty()) {
+            solutionLabel.setText("No solution from this position");
+        } else if (solution.get().length() == 0) {
+            solutionLabel.setText("Solved");
+        } else {
+            solutionLabel.setText(String.format("Solvable in %d moves, next %s", solution.get().length(),
+                    format(solution.get().moves().get(0))));
+        }
+    }
 
+    /**
+     * Formats a move for the player, numbering the rows and the columns from 1.
+     *
+     * @param move The move.
+     * @return The text of the move.
+     */
+    private static String format(TwoPhaseMoveState.TwoPhaseMove<Position> move) {
+        return String.format("move (%d, %d) to (%d, %d)", move.from().row() + 1, move.from().col() + 1,
+                move.to().row() + 1, move.to().col() + 1);
+    }
 
-        square.setOnMouseExited(event -> {
-            if ((row + col) % 2 == 0) {
-                square.setStyle("-fx-background-color: #ffffe0;");
-            } else {
-                square.setStyle("-fx-background-color: #d2f8d2;");
-            }
-        });
+    /**
+     * Cancels the pending requests to the solver service.
+     */
+    private void cancelRequests() {
+        cancelSolution();
+        if (pendingHintEngine != null) {
+            pendingHintEngine.cancel(true);
+            pendingHintEngine = null;
+            hintButton.setDisable(false);
+        }
+    }
 
-        var piece = new Circle(40);
-        piece.fillProperty().bind(createBishopBinding(model.bishopProperty(row, col)));
-        if (model.getBishop(new Position(row, col)) != Bishop.NONE) {
-            square.getStyleClass().add("bishop-border");
+    /**
+     * Cancels the pending request of a solution, if any.
+     */
+    private void cancelSolution() {
+        if (pendingSolution != null) {
+            pendingSolution.cancel(true);
+            pendingSolution = null;
+            solveButton.setDisable(false);
+            solutionLabel.setText("");
         }
-        square.getChildren().add(piece);
-        square.setOnMouseClicked(event -> handleMouseClick(row, col));
-        return square;
     }
 
     /**
-     * Creates a binding for the color of the bishop piece based on its property.
-     *
-     * @param bishopProperty The property representing the bishop at a position.
-     * @return The binding for the color of the bishop piece.
+     * Undoes the last move, unless the puzzle is solved.
      */
-    private ObjectBinding<Paint> createBishopBinding(ReadOnlyObjectProperty<Bishop> bishopProperty) {
-        return new ObjectBinding<>() {
-            {
-                super.bind(bishopProperty);
+    private void undo() {
+        if (!model.isSolved()) {
+            deselectPosition();
+            if (model.undo()) {
+                Logger.info("Undone move, {} moves made", model.getMoves());
             }
+        }
+    }
 
-            @Override
-            protected Paint computeValue() {
-                return switch (bishopProperty.get()) {
-                    case NONE -> Color.TRANSPARENT;
-                    case BLACK -> Color.BLACK;
-                    case WHITE -> Color.WHITE;
-                };
+    /**
+     * Redoes the last undone move, unless the puzzle is solved.
+     */
+    private void redo() {
+        if (!model.isSolved()) {
+            deselectPosition();
+            if (model.redo()) {
+                Logger.info("Redone move, {} moves made", model.getMoves());
+                if (model.isSolved()) {
+                    Logger.info("Puzzle is solved.");
+                    saveGameResult();
+                    showResults();
+                }
             }
-        };
+        }
     }
 
     /**
@@ -192,8 +339,7 @@ public class PuzzleController {
      * @param position The position of the selected square.
      */
     private void showSelection(Position position) {
-        var bishop = getBishop(position);
-        bishop.getStyleClass().add("selected");
+        renderer.setSelected(position, true);
     }
 
     /**
@@ -202,24 +348,7 @@ public class PuzzleController {
      * @param position The position of the selected square.
      */
     private void hideSelection(Position position) {
-        var bishop = getBishop(position);
-        bishop.getStyleClass().remove("selected");
-    }
-
-    /**
-     * Retrieves the StackPane representing the bishop piece at a position.
-     *
-     * @param position The position of the bishop.
-     * @return The StackPane representing the bishop piece.
-     * @throws AssertionError If the bishop is not found at the specified position.
-     */
-    private StackPane getBishop(Position position) {
-        for (var child : board.getChildren()) {
-            if (GridPane.getRowIndex(child) == position.row() && GridPane.getColumnIndex(child) == position.col()) {
-                return (StackPane) child;
-            }
-        }
-        throw new AssertionError("puzzle.model.Bishop not found");
+        renderer.setSelected(position, false);
     }
 
     /**
@@ -233,10 +362,10 @@ public class PuzzleController {
     }
 
     /**
-     * Saves the game result to a JSON file.
+     * Saves the game result.
      * <p>
-     * <p>
-     * It reads the existing results from the file, appends the new result, and writes them back to the file.
+     * The result is queued by the {@link GameResultStore}, which writes it in the background, so saving does not
+     * block the JavaFX application thread on disk I/O.
      * </p>
      */
 
@@ -252,13 +381,8 @@ public class PuzzleController {
                 .created(endTime)
                 .build();
 
-        try {
-            resultManager.add(result);
-            Logger.info("Puzzle result saved :{}", result);
-        } catch (IOException e) {
-            Logger.error("Failed to save puzzle result: {}", e.getMessage());
-            throw new RuntimeException(e);
-        }
+        resultManager.submit(result);
+        Logger.info("Puzzle result saved :{}", result);
     }
 
     /**
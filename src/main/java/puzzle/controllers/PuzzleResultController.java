@@ -9,19 +9,26 @@ import lombok.Getter;
 import lombok.Setter;
 import org.tinylog.Logger;
 import gameresult.*;
-import gameresult.manager.*;
-import gameresult.manager.json.*;
+import puzzle.results.GameResultStore;
 
 import java.io.IOException;
-import java.nio.file.Paths;
 
 /**
  * Controller class for managing and displaying puzzle game results.
+ * <p>
+ * The table shows the best {@value #TOP_RESULTS} results of the leaderboard, read from the index of the
+ * {@link GameResultStore} rather than by sorting all the results.
+ * </p>
  */
 public class PuzzleResultController {
 
+    /**
+     * The number of results shown.
+     */
+    private static final int TOP_RESULTS = 10;
+
     @Getter
-    private final OnePlayerGameResultManager resultManager = new JsonOnePlayerGameResultManager(Paths.get("puzzle_results.json"));
+    private final GameResultStore resultManager = GameResultStore.getDefault();
     @Getter
     @Setter
     @FXML
@@ -54,7 +61,7 @@ public class PuzzleResultController {
         created.setCellValueFactory(new PropertyValueFactory<>("created"));
 
         try {
-            resultTable.getItems().setAll(resultManager.getAll());
+            resultTable.getItems().setAll(resultManager.getTop(0, TOP_RESULTS));
             Logger.info("Loaded puzzle results.");
         } catch (IOException e) {
             Logger.error("Failed to load puzzle results: {}", e.getMessage());
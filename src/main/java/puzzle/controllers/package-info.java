@@ -8,6 +8,7 @@
  *     <li>{@link puzzle.controllers.PlayerController} - Manages the player's name input and starts the puzzle game.</li>
  *     <li>{@link puzzle.controllers.PuzzleController} - Handles the game logic, user interactions with the puzzle board, and manages game state.</li>
  *     <li>{@link puzzle.controllers.PuzzleResultController} - Displays the results of the puzzle games played by the user.</li>
+ *     <li>{@link puzzle.controllers.BoardRenderer} - Draws the board of the puzzle, implemented by {@link puzzle.controllers.NodeBoardRenderer} as a grid of nodes and by {@link puzzle.controllers.CanvasBoardRenderer} on a single canvas.</li>
  * </ul>
  */
 package puzzle.controllers;
\ No newline at end of file
@@ -0,0 +1,130 @@
+package puzzle.model;
+
+/**
+ * Precomputed move generation tables for bishops on a rectangular board.
+ * <p>
+ * Squares are indexed as {@code row * cols + col} and sets of squares are represented as {@code long} bitmasks. For
+ * every square the four diagonal rays leaving it on an empty board are precomputed, so the squares attacked by a bishop
+ * on an occupied board can be computed with a few bitwise operations instead of walking the diagonals square by square.
+ * </p>
+ */
+public final class BishopMoves {
+
+    /**
+     * The maximum number of squares a board may have to fit into a bitmask.
+     */
+    public static final int MAX_SQUARES = Long.SIZE;
+
+    /**
+     * The row and column steps of the four diagonal directions. The first two directions decrease the square index,
+     * the last two increase it.
+     */
+    private static final int[][] DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    private final int rows;
+
+    private final int cols;
+
+    /**
+     * The rays of the board, indexed by direction and square.
+     */
+    private final long[][] rays;
+
+    /**
+     * Constructs the move generation tables of a board with the specified dimensions.
+     *
+     * @param rows The number of rows on the board.
+     * @param cols The number of columns on the board.
+     * @throws IllegalArgumentException If the board is empty or has more than {@value #MAX_SQUARES} squares.
+     */
+    public BishopMoves(int rows, int cols) {
+        if (rows <= 0 || cols <= 0 || rows > MAX_SQUARES / cols) {
+            throw new IllegalArgumentException("Unsupported board size: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        rays = new long[DIRECTIONS.length][rows * cols];
+        for (var d = 0; d < DIRECTIONS.length; d++) {
+            for (var row = 0; row < rows; row++) {
+                for (var col = 0; col < cols; col++) {
+                    long ray = 0;
+                    int r = row + DIRECTIONS[d][0];
+                    int c = col + DIRECTIONS[d][1];
+                    while (0 <= r && r < rows && 0 <= c && c < cols) {
+                        ray |= 1L << (r * cols + c);
+                        r += DIRECTIONS[d][0];
+                        c += DIRECTIONS[d][1];
+                    }
+                    rays[d][row * cols + col] = ray;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of rows on the board.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns on the board.
+     *
+     * @return The number of columns.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Gets the number of squares on the board.
+     *
+     * @return The number of squares.
+     */
+    public int getSquares() {
+        return rows * cols;
+    }
+
+    /**
+     * Returns the squares attacked by a bishop on the specified square.
+     * <p>
+     * Each diagonal ray ends at the first occupied square, which is included in the result.
+     * </p>
+     *
+     * @param square   The index of the square of the bishop.
+     * @param occupied The bitmask of the occupied squares.
+     * @return The bitmask of the attacked squares.
+     */
+    public long attacks(int square, long occupied) {
+        long attacks = 0;
+        for (var d = 0; d < DIRECTIONS.length; d++) {
+            long ray = rays[d][square];
+            long blockers = ray & occupied;
+            if (blockers != 0) {
+                int blocker = d < 2 ? 63 - Long.numberOfLeadingZeros(blockers) : Long.numberOfTrailingZeros(blockers);
+                ray ^= rays[d][blocker];
+            }
+            attacks |= ray;
+        }
+        return attacks;
+    }
+
+    /**
+     * Returns the squares attacked by any of the specified bishops.
+     *
+     * @param bishops  The bitmask of the squares of the bishops.
+     * @param occupied The bitmask of the occupied squares.
+     * @return The bitmask of the attacked squares.
+     */
+    public long attacksOf(long bishops, long occupied) {
+        long attacks = 0;
+        for (; bishops != 0; bishops &= bishops - 1) {
+            attacks |= attacks(Long.numberOfTrailingZeros(bishops), occupied);
+        }
+        return attacks;
+    }
+
+}
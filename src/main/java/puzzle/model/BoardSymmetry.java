@@ -0,0 +1,175 @@
+package puzzle.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a symmetry of the rules of the puzzle, a reflection or rotation of the board, optionally combined with
+ * swapping the colors of the bishops.
+ * <p>
+ * Reflections and rotations of the board map diagonals to diagonals, and the rules treat both colors alike, so a
+ * symmetry maps every legal move to a legal move. A rectangular board has four such geometric transformations, a
+ * square board eight. A symmetry which also maps the solved layout to itself maps every layout to one with the same
+ * distance to the solved layout, so the solvers need to search only one layout of every class of symmetric layouts.
+ * </p>
+ */
+public final class BoardSymmetry {
+
+    private final String name;
+
+    /**
+     * The squares the squares of the board are mapped to, indexed by square.
+     */
+    private final int[] squares;
+
+    private final boolean swapsColors;
+
+    private BoardSymmetry(String name, int[] squares, boolean swapsColors) {
+        this.name = swapsColors ? name + " with colors swapped" : name;
+        this.squares = squares;
+        this.swapsColors = swapsColors;
+    }
+
+    /**
+     * Returns all the symmetries of the rules on the board of the specified puzzle, including the identity.
+     *
+     * @param config The configuration of the puzzle.
+     * @return The symmetries, starting with the identity.
+     */
+    public static List<BoardSymmetry> all(PuzzleConfig config) {
+        int rows = config.getRows();
+        int cols = config.getCols();
+        List<BoardSymmetry> symmetries = new ArrayList<>();
+        for (var swapsColors : new boolean[]{false, true}) {
+            add(symmetries, config, "identity", swapsColors, (row, col) -> new Position(row, col));
+            add(symmetries, config, "left-right reflection", swapsColors,
+                    (row, col) -> new Position(row, cols - 1 - col));
+            add(symmetries, config, "up-down reflection", swapsColors,
+                    (row, col) -> new Position(rows - 1 - row, col));
+            add(symmetries, config, "half turn", swapsColors,
+                    (row, col) -> new Position(rows - 1 - row, cols - 1 - col));
+            if (rows == cols) {
+                add(symmetries, config, "diagonal reflection", swapsColors, (row, col) -> new Position(col, row));
+                add(symmetries, config, "anti-diagonal reflection", swapsColors,
+                        (row, col) -> new Position(cols - 1 - col, rows - 1 - row));
+                add(symmetries, config, "quarter turn", swapsColors, (row, col) -> new Position(col, rows - 1 - row));
+                add(symmetries, config, "three-quarter turn", swapsColors,
+                        (row, col) -> new Position(cols - 1 - col, row));
+            }
+        }
+        return symmetries;
+    }
+
+    /**
+     * Returns the symmetries of the rules on the board of the specified puzzle which map its solved layout to itself,
+     * other than the identity.
+     *
+     * @param config The configuration of the puzzle.
+     * @return The symmetries preserving the solved layout, which is empty if the solved layout is not symmetric.
+     */
+    public static List<BoardSymmetry> ofGoal(PuzzleConfig config) {
+        List<BoardSymmetry> symmetries = new ArrayList<>();
+        for (BoardSymmetry symmetry : all(config)) {
+            if (!symmetry.isIdentity()
+                    && symmetry.black(config.getGoalBlack(), config.getGoalWhite()) == config.getGoalBlack()
+                    && symmetry.white(config.getGoalBlack(), config.getGoalWhite()) == config.getGoalWhite()) {
+                symmetries.add(symmetry);
+            }
+        }
+        return symmetries;
+    }
+
+    private interface Transformation {
+        Position apply(int row, int col);
+    }
+
+    private static void add(List<BoardSymmetry> symmetries, PuzzleConfig config, String name, boolean swapsColors,
+                            Transformation transformation) {
+        int[] squares = new int[config.getSquares()];
+        for (var row = 0; row < config.getRows(); row++) {
+            for (var col = 0; col < config.getCols(); col++) {
+                squares[row * config.getCols() + col] = config.square(transformation.apply(row, col));
+            }
+        }
+        symmetries.add(new BoardSymmetry(name, squares, swapsColors));
+    }
+
+    /**
+     * Checks if this symmetry maps every layout to itself.
+     *
+     * @return {@code true} if this is the identity, {@code false} otherwise.
+     */
+    public boolean isIdentity() {
+        if (swapsColors) {
+            return false;
+        }
+        for (var square = 0; square < squares.length; square++) {
+            if (squares[square] != square) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if this symmetry swaps the colors of the bishops.
+     *
+     * @return {@code true} if the colors are swapped, {@code false} otherwise.
+     */
+    public boolean swapsColors() {
+        return swapsColors;
+    }
+
+    /**
+     * Maps the squares of a bitmask of bishops, without regard to their color.
+     *
+     * @param bishops The bitmask of the bishops.
+     * @return The bitmask of the squares the bishops are mapped to.
+     */
+    public long apply(long bishops) {
+        long mapped = 0;
+        for (; bishops != 0; bishops &= bishops - 1) {
+            mapped |= 1L << squares[Long.numberOfTrailingZeros(bishops)];
+        }
+        return mapped;
+    }
+
+    /**
+     * Returns the bitmask of the black bishops of the image of a layout.
+     *
+     * @param black The bitmask of the black bishops of the layout.
+     * @param white The bitmask of the white bishops of the layout.
+     * @return The bitmask of the black bishops of the image.
+     */
+    public long black(long black, long white) {
+        return apply(swapsColors ? white : black);
+    }
+
+    /**
+     * Returns the bitmask of the white bishops of the image of a layout.
+     *
+     * @param black The bitmask of the black bishops of the layout.
+     * @param white The bitmask of the white bishops of the layout.
+     * @return The bitmask of the white bishops of the image.
+     */
+    public long white(long black, long white) {
+        return apply(swapsColors ? black : white);
+    }
+
+    /**
+     * Returns the image of a state.
+     *
+     * @param state The state.
+     * @return The state with the image of the layout of the specified state.
+     */
+    public PuzzleState apply(PuzzleState state) {
+        return new PuzzleState(state.getConfig(), black(state.getBlackMask(), state.getWhiteMask()),
+                white(state.getBlackMask(), state.getWhiteMask()));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
@@ -0,0 +1,290 @@
+package puzzle.model;
+
+/**
+ * Maps the layouts of a board bijectively to dense indices.
+ * <p>
+ * A layout is a pair of disjoint bitmasks, the squares of the black and of the white bishops, with a fixed number of
+ * bishops of each color. Layouts are ranked with the combinatorial number system: the black bishops are ranked among
+ * all the squares of the board and the white bishops among the remaining squares, so the ranks of a board with
+ * {@code n} squares, {@code b} black and {@code w} white bishops fill the range {@code [0, C(n, b) * C(n - b, w))}.
+ * This allows the solvers to keep their bookkeeping in flat arrays indexed by rank.
+ * </p>
+ * <p>
+ * A ranker may also be restricted to a subset of the squares of the board, such as the squares of one color complex.
+ * The layouts are then compressed to the bits of those squares before being ranked, so {@code n} is the number of
+ * squares of the subset, while the bitmasks passed to and returned by the ranker still refer to the whole board.
+ * </p>
+ */
+public final class LayoutRanker {
+
+    private final PuzzleConfig config;
+
+    private final int squares;
+
+    private final int blackCount;
+
+    private final int whiteCount;
+
+    /**
+     * The squares the layouts are restricted to, or {@code 0} if the layouts may use all the squares.
+     */
+    private final long squareMask;
+
+    /**
+     * Binomial coefficients, {@code binomial[n][k]} is {@code C(n, k)}.
+     */
+    private final long[][] binomial;
+
+    /**
+     * The number of layouts of the white bishops for a fixed layout of the black bishops.
+     */
+    private final long whiteLayouts;
+
+    private final long size;
+
+    /**
+     * Constructs a ranker of the layouts with the specified number of squares and bishops.
+     *
+     * @param squares    The number of squares on the board.
+     * @param blackCount The number of black bishops.
+     * @param whiteCount The number of white bishops.
+     * @throws IllegalArgumentException If the bishops do not fit on the board, or the number of layouts does not fit into
+     *                                  a {@code long}.
+     */
+    public LayoutRanker(int squares, int blackCount, int whiteCount) {
+        this(null, 0, squares, blackCount, whiteCount);
+    }
+
+    /**
+     * Constructs a ranker of the layouts of a puzzle with as many bishops as the puzzle has.
+     *
+     * @param config The configuration of the puzzle.
+     * @throws IllegalArgumentException If the number of layouts does not fit into a {@code long}.
+     */
+    public LayoutRanker(PuzzleConfig config) {
+        this(config, config.getBlackCount(), config.getWhiteCount());
+    }
+
+    /**
+     * Constructs a ranker of the layouts of a puzzle with the specified number of bishops.
+     *
+     * @param config     The configuration of the puzzle.
+     * @param blackCount The number of black bishops.
+     * @param whiteCount The number of white bishops.
+     * @throws IllegalArgumentException If the bishops do not fit on the board, or the number of layouts does not fit into
+     *                                  a {@code long}.
+     */
+    public LayoutRanker(PuzzleConfig config, int blackCount, int whiteCount) {
+        this(config, 0, config.getSquares(), blackCount, whiteCount);
+    }
+
+    /**
+     * Constructs a ranker of the layouts of a puzzle whose bishops stay on the specified squares of the board.
+     *
+     * @param config     The configuration of the puzzle.
+     * @param squares    The bitmask of the squares the bishops stay on.
+     * @param blackCount The number of black bishops.
+     * @param whiteCount The number of white bishops.
+     * @throws IllegalArgumentException If the squares are not on the board, the bishops do not fit on the squares, or
+     *                                  the number of layouts does not fit into a {@code long}.
+     */
+    public LayoutRanker(PuzzleConfig config, long squares, int blackCount, int whiteCount) {
+        this(config, squares == config.getBoardMask() ? 0 : squares, Long.bitCount(squares), blackCount, whiteCount);
+        if ((squares & ~config.getBoardMask()) != 0) {
+            throw new IllegalArgumentException("Squares outside the board");
+        }
+    }
+
+    private LayoutRanker(PuzzleConfig config, long squareMask, int squares, int blackCount, int whiteCount) {
+        if (squares <= 0 || squares > BishopMoves.MAX_SQUARES) {
+            throw new IllegalArgumentException("Unsupported number of squares: " + squares);
+        }
+        if (blackCount < 0 || whiteCount < 0 || blackCount + whiteCount > squares) {
+            throw new IllegalArgumentException("Unsupported number of bishops: " + blackCount + "+" + whiteCount);
+        }
+        this.config = config;
+        this.squareMask = squareMask;
+        this.squares = squares;
+        this.blackCount = blackCount;
+        this.whiteCount = whiteCount;
+        binomial = new long[squares + 1][];
+        for (var n = 0; n <= squares; n++) {
+            binomial[n] = new long[n + 1];
+            binomial[n][0] = 1;
+            binomial[n][n] = 1;
+            for (var k = 1; k < n; k++) {
+                binomial[n][k] = binomial[n - 1][k - 1] + binomial[n - 1][k];
+            }
+        }
+        whiteLayouts = binomial[squares - blackCount][whiteCount];
+        try {
+            size = Math.multiplyExact(binomial[squares][blackCount], whiteLayouts);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Too many layouts", e);
+        }
+    }
+
+    /**
+     * Gets the configuration of the puzzle whose layouts are ranked.
+     *
+     * @return The configuration of the puzzle, or {@code null} if the ranker was constructed from the number of squares
+     *         only.
+     */
+    public PuzzleConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Gets the number of squares the layouts are ranked on, the squares of the board unless the ranker is restricted to
+     * some of them.
+     *
+     * @return The number of squares.
+     */
+    public int getSquares() {
+        return squares;
+    }
+
+    /**
+     * Gets the number of black bishops.
+     *
+     * @return The number of black bishops.
+     */
+    public int getBlackCount() {
+        return blackCount;
+    }
+
+    /**
+     * Gets the number of white bishops.
+     *
+     * @return The number of white bishops.
+     */
+    public int getWhiteCount() {
+        return whiteCount;
+    }
+
+    /**
+     * Gets the number of layouts, i.e., the upper bound of the ranks.
+     *
+     * @return The number of layouts.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of layouts as an {@code int}, for use as the size of an array indexed by rank.
+     *
+     * @return The number of layouts.
+     * @throws IllegalStateException If the number of layouts does not fit into an {@code int}.
+     */
+    public int intSize() {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many layouts for an array: " + size);
+        }
+        return (int) size;
+    }
+
+    /**
+     * Returns the rank of a layout.
+     *
+     * @param black The bitmask of the black bishops, with exactly {@code blackCount} bits set.
+     * @param white The bitmask of the white bishops, with exactly {@code whiteCount} bits set.
+     * @return The rank of the layout.
+     */
+    public long rank(long black, long white) {
+        if (squareMask != 0) {
+            black = Long.compress(black, squareMask);
+            white = Long.compress(white, squareMask);
+        }
+        long blackRank = 0;
+        var i = 0;
+        for (long bits = black; bits != 0; bits &= bits - 1) {
+            blackRank += binomial(Long.numberOfTrailingZeros(bits), ++i);
+        }
+        long whiteRank = 0;
+        i = 0;
+        for (long bits = white; bits != 0; bits &= bits - 1) {
+            int square = Long.numberOfTrailingZeros(bits);
+            int compressed = square - Long.bitCount(black & ((1L << square) - 1));
+            whiteRank += binomial(compressed, ++i);
+        }
+        return blackRank * whiteLayouts + whiteRank;
+    }
+
+    /**
+     * Returns the rank of the layout of a state.
+     *
+     * @param state The state.
+     * @return The rank of the layout.
+     */
+    public long rank(PuzzleState state) {
+        return rank(state.getBlackMask(), state.getWhiteMask());
+    }
+
+    /**
+     * Returns the bitmask of the black bishops of the layout with the specified rank.
+     *
+     * @param rank The rank of the layout.
+     * @return The bitmask of the black bishops.
+     */
+    public long unrankBlack(long rank) {
+        long black = unrankSubset(rank / whiteLayouts, squares, blackCount);
+        return squareMask != 0 ? Long.expand(black, squareMask) : black;
+    }
+
+    /**
+     * Returns the bitmask of the white bishops of the layout with the specified rank.
+     *
+     * @param rank The rank of the layout.
+     * @return The bitmask of the white bishops.
+     */
+    public long unrankWhite(long rank) {
+        long black = unrankSubset(rank / whiteLayouts, squares, blackCount);
+        long compressed = unrankSubset(rank % whiteLayouts, squares - blackCount, whiteCount);
+        long white = 0;
+        long free = ~black;
+        for (var index = 0; compressed != 0; index++, free &= free - 1) {
+            if ((compressed & 1L << index) != 0) {
+                white |= Long.lowestOneBit(free);
+                compressed &= ~(1L << index);
+            }
+        }
+        return squareMask != 0 ? Long.expand(white, squareMask) : white;
+    }
+
+    /**
+     * Returns the state with the layout of the specified rank.
+     *
+     * @param rank The rank of the layout.
+     * @return The state with the layout.
+     * @throws IllegalStateException If the ranker was constructed from the number of squares only.
+     */
+    public PuzzleState unrank(long rank) {
+        if (config == null) {
+            throw new IllegalStateException("The ranker is not bound to a puzzle configuration");
+        }
+        return new PuzzleState(config, unrankBlack(rank), unrankWhite(rank));
+    }
+
+    private long binomial(int n, int k) {
+        return k > n ? 0 : binomial[n][k];
+    }
+
+    /**
+     * Returns the {@code k}-element subset of {@code [0, n)} with the specified rank in colexicographic order.
+     */
+    private long unrankSubset(long rank, int n, int k) {
+        long subset = 0;
+        int p = n - 1;
+        for (var i = k; i > 0; i--) {
+            while (binomial(p, i) > rank) {
+                p--;
+            }
+            subset |= 1L << p;
+            rank -= binomial(p, i);
+            p--;
+        }
+        return subset;
+    }
+
+}
@@ -0,0 +1,441 @@
+package puzzle.model;
+
+import java.util.Objects;
+
+/**
+ * Represents a configuration of the Bishop Swap Puzzle: the dimensions of the board, and the starting and goal
+ * placements of the black and white bishops.
+ * <p>
+ * Squares are indexed as {@code row * cols + col} and placements are represented as {@code long} bitmasks, so a board
+ * may have at most {@value BishopMoves#MAX_SQUARES} squares. The standard puzzle is {@link #STANDARD}, a 5x4 board
+ * with two black bishops in the top row and two white bishops in the bottom row, which have to be swapped.
+ * </p>
+ * <p>
+ * A configuration can be written in a compact text notation consisting of the dimensions, the starting and the goal
+ * placements, separated by whitespace. A placement lists the rows of the board from top to bottom separated by
+ * {@code /}, where {@code B} is a black bishop, {@code W} is a white bishop and {@code .} is an empty square. The
+ * standard puzzle is written as
+ * </p>
+ * <pre>
+ * 5x4 .B.B/..../..../..../.W.W .W.W/..../..../..../.B.B
+ * </pre>
+ */
+public final class PuzzleConfig {
+
+    /**
+     * The name of the system property holding the notation of the configuration used by the application.
+     */
+    public static final String SYSTEM_PROPERTY = "puzzle.config";
+
+    /**
+     * The standard 5x4 configuration of the puzzle.
+     */
+    public static final PuzzleConfig STANDARD = swap(5, 4, 1, 3);
+
+    private final int rows;
+
+    private final int cols;
+
+    private final long startBlack;
+
+    private final long startWhite;
+
+    private final long goalBlack;
+
+    private final long goalWhite;
+
+    private final BishopMoves moves;
+
+    private final Position[] positions;
+
+    private volatile LayoutRanker ranker;
+
+    /**
+     * Constructs a new PuzzleConfig object.
+     *
+     * @param rows       The number of rows on the board.
+     * @param cols       The number of columns on the board.
+     * @param startBlack The bitmask of the starting squares of the black bishops.
+     * @param startWhite The bitmask of the starting squares of the white bishops.
+     * @param goalBlack  The bitmask of the goal squares of the black bishops.
+     * @param goalWhite  The bitmask of the goal squares of the white bishops.
+     * @throws IllegalArgumentException If the board is too large, a placement is outside the board or overlaps, the
+     *                                  starting and goal placements have different numbers of bishops, or the board has
+     *                                  more than 32 squares and the number of layouts does not fit into a {@code long}.
+     */
+    public PuzzleConfig(int rows, int cols, long startBlack, long startWhite, long goalBlack, long goalWhite) {
+        moves = new BishopMoves(rows, cols);
+        this.rows = rows;
+        this.cols = cols;
+        long board = boardMask(rows * cols);
+        if (((startBlack | startWhite | goalBlack | goalWhite) & ~board) != 0) {
+            throw new IllegalArgumentException("Bishop outside the board");
+        }
+        if ((startBlack & startWhite) != 0 || (goalBlack & goalWhite) != 0) {
+            throw new IllegalArgumentException("Black and white bishops overlap");
+        }
+        if (Long.bitCount(startBlack) != Long.bitCount(goalBlack)
+                || Long.bitCount(startWhite) != Long.bitCount(goalWhite)) {
+            throw new IllegalArgumentException("Starting and goal placements have different numbers of bishops");
+        }
+        this.startBlack = startBlack;
+        this.startWhite = startWhite;
+        this.goalBlack = goalBlack;
+        this.goalWhite = goalWhite;
+        positions = new Position[rows * cols];
+        for (var square = 0; square < positions.length; square++) {
+            positions[square] = new Position(square / cols, square % cols);
+        }
+        if (positions.length > Integer.SIZE) {
+            ranker = new LayoutRanker(this);
+        }
+    }
+
+    /**
+     * Creates a configuration where the black bishops start in the specified columns of the top row, the white bishops
+     * in the same columns of the bottom row, and the goal is to swap them.
+     *
+     * @param rows    The number of rows on the board.
+     * @param cols    The number of columns on the board.
+     * @param columns The columns of the bishops.
+     * @return The configuration.
+     * @throws IllegalArgumentException If the board or the columns are invalid.
+     */
+    public static PuzzleConfig swap(int rows, int cols, int... columns) {
+        long top = 0;
+        long bottom = 0;
+        for (int col : columns) {
+            if (col < 0 || col >= cols) {
+                throw new IllegalArgumentException("Column outside the board: " + col);
+            }
+            top |= 1L << col;
+            bottom |= 1L << ((rows - 1) * cols + col);
+        }
+        return new PuzzleConfig(rows, cols, top, bottom, bottom, top);
+    }
+
+    /**
+     * Parses a configuration from its text notation.
+     *
+     * @param notation The text notation of the configuration.
+     * @return The configuration.
+     * @throws IllegalArgumentException If the notation is invalid.
+     */
+    public static PuzzleConfig parse(String notation) {
+        String[] parts = notation.trim().split("\\s+");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Expected dimensions, start and goal: " + notation);
+        }
+        String[] dimensions = parts[0].split("x");
+        int rows;
+        int cols;
+        try {
+            if (dimensions.length != 2) {
+                throw new NumberFormatException(parts[0]);
+            }
+            rows = Integer.parseInt(dimensions[0]);
+            cols = Integer.parseInt(dimensions[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid dimensions: " + parts[0], e);
+        }
+        if (rows <= 0 || cols <= 0 || rows > BishopMoves.MAX_SQUARES / cols) {
+            throw new IllegalArgumentException("Unsupported board size: " + parts[0]);
+        }
+        long[] start = parsePlacement(parts[1], rows, cols);
+        long[] goal = parsePlacement(parts[2], rows, cols);
+        return new PuzzleConfig(rows, cols, start[0], start[1], goal[0], goal[1]);
+    }
+
+    private static long[] parsePlacement(String placement, int rows, int cols) {
+        String[] lines = placement.split("/");
+        if (lines.length != rows) {
+            throw new IllegalArgumentException("Expected " + rows + " rows: " + placement);
+        }
+        long black = 0;
+        long white = 0;
+        for (var row = 0; row < rows; row++) {
+            if (lines[row].length() != cols) {
+                throw new IllegalArgumentException("Expected " + cols + " columns: " + lines[row]);
+            }
+            for (var col = 0; col < cols; col++) {
+                switch (lines[row].charAt(col)) {
+                    case 'B' -> black |= 1L << (row * cols + col);
+                    case 'W' -> white |= 1L << (row * cols + col);
+                    case '.' -> {
+                    }
+                    default -> throw new IllegalArgumentException("Invalid square: " + lines[row].charAt(col));
+                }
+            }
+        }
+        return new long[]{black, white};
+    }
+
+    /**
+     * Returns the configuration given by the {@value #SYSTEM_PROPERTY} system property, or {@link #STANDARD} if the
+     * property is not set.
+     *
+     * @return The configuration.
+     * @throws IllegalArgumentException If the property is not a valid notation.
+     */
+    public static PuzzleConfig fromSystemProperty() {
+        String notation = System.getProperty(SYSTEM_PROPERTY);
+        return notation == null || notation.isBlank() ? STANDARD : parse(notation);
+    }
+
+    private static long boardMask(int squares) {
+        return squares == Long.SIZE ? -1L : (1L << squares) - 1;
+    }
+
+    /**
+     * Gets the number of rows on the board.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns on the board.
+     *
+     * @return The number of columns.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Gets the number of squares on the board.
+     *
+     * @return The number of squares.
+     */
+    public int getSquares() {
+        return rows * cols;
+    }
+
+    /**
+     * Gets the bitmask of all the squares on the board.
+     *
+     * @return The bitmask of the board.
+     */
+    public long getBoardMask() {
+        return boardMask(rows * cols);
+    }
+
+    /**
+     * Gets the number of black bishops.
+     *
+     * @return The number of black bishops.
+     */
+    public int getBlackCount() {
+        return Long.bitCount(startBlack);
+    }
+
+    /**
+     * Gets the number of white bishops.
+     *
+     * @return The number of white bishops.
+     */
+    public int getWhiteCount() {
+        return Long.bitCount(startWhite);
+    }
+
+    /**
+     * Gets the bitmask of the starting squares of the black bishops.
+     *
+     * @return The bitmask of the starting squares.
+     */
+    public long getStartBlack() {
+        return startBlack;
+    }
+
+    /**
+     * Gets the bitmask of the starting squares of the white bishops.
+     *
+     * @return The bitmask of the starting squares.
+     */
+    public long getStartWhite() {
+        return startWhite;
+    }
+
+    /**
+     * Gets the bitmask of the goal squares of the black bishops.
+     *
+     * @return The bitmask of the goal squares.
+     */
+    public long getGoalBlack() {
+        return goalBlack;
+    }
+
+    /**
+     * Gets the bitmask of the goal squares of the white bishops.
+     *
+     * @return The bitmask of the goal squares.
+     */
+    public long getGoalWhite() {
+        return goalWhite;
+    }
+
+    /**
+     * Gets the move generation tables of the board.
+     *
+     * @return The move generation tables.
+     */
+    public BishopMoves getBishopMoves() {
+        return moves;
+    }
+
+    /**
+     * Gets the ranker of the layouts of this configuration, creating it on first use.
+     *
+     * @return The ranker of the layouts.
+     * @throws IllegalArgumentException If the number of layouts does not fit into a {@code long}.
+     */
+    public LayoutRanker getRanker() {
+        LayoutRanker result = ranker;
+        if (result == null) {
+            result = new LayoutRanker(this);
+            ranker = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of distinct encoded moves, every encoded move is less than this value.
+     *
+     * @return The number of distinct encoded moves.
+     */
+    public int getMaxMoves() {
+        return getSquares() * getSquares();
+    }
+
+    /**
+     * Checks if a position is within the bounds of the board.
+     *
+     * @param p The position to check.
+     * @return {@code true} if the position is within the board, {@code false} otherwise.
+     */
+    public boolean isOnBoard(Position p) {
+        return 0 <= p.row() && p.row() < rows && 0 <= p.col() && p.col() < cols;
+    }
+
+    /**
+     * Returns the index of the square at the specified position.
+     *
+     * @param p The position, which must be on the board.
+     * @return The index of the square, {@code row * cols + col}.
+     */
+    public int square(Position p) {
+        return p.row() * cols + p.col();
+    }
+
+    /**
+     * Returns the position of the square with the specified index.
+     *
+     * @param square The index of the square.
+     * @return The shared {@link Position} instance of the square.
+     */
+    public Position position(int square) {
+        return positions[square];
+    }
+
+    /**
+     * Encodes a move as a single {@code int}.
+     *
+     * @param from The index of the square to move from.
+     * @param to   The index of the square to move to.
+     * @return The encoded move, {@code from * squares + to}.
+     */
+    public int encodeMove(int from, int to) {
+        return from * positions.length + to;
+    }
+
+    /**
+     * Returns the index of the square an encoded move starts from.
+     *
+     * @param move The encoded move.
+     * @return The index of the square to move from.
+     */
+    public int moveFrom(int move) {
+        return move / positions.length;
+    }
+
+    /**
+     * Returns the index of the square an encoded move leads to.
+     *
+     * @param move The encoded move.
+     * @return The index of the square to move to.
+     */
+    public int moveTo(int move) {
+        return move % positions.length;
+    }
+
+    /**
+     * Returns the canonical key of the layout given by the specified bitmasks.
+     * <p>
+     * On boards with no more than 32 squares the key holds the black bitmask in the upper and the white bitmask in the
+     * lower 32 bits. On larger boards it is the rank of the layout, see {@link #getRanker()}. Either way two layouts
+     * with the same numbers of bishops have the same key if and only if they are equal.
+     * </p>
+     *
+     * @param black The bitmask of the black bishops.
+     * @param white The bitmask of the white bishops.
+     * @return The key of the layout.
+     */
+    public long key(long black, long white) {
+        if (positions.length <= Integer.SIZE) {
+            return (black << Integer.SIZE) | white;
+        }
+        return ranker.rank(black, white);
+    }
+
+    /**
+     * Checks if the specified configuration has the same board and goal as this one, i.e., they differ at most in
+     * their starting placements.
+     *
+     * @param other The other configuration.
+     * @return {@code true} if the board and the goal are the same, {@code false} otherwise.
+     */
+    public boolean hasSameGoal(PuzzleConfig other) {
+        return rows == other.rows && cols == other.cols && goalBlack == other.goalBlack && goalWhite == other.goalWhite;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        return o instanceof PuzzleConfig that && hasSameGoal(that)
+                && startBlack == that.startBlack && startWhite == that.startWhite;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rows, cols, startBlack, startWhite, goalBlack, goalWhite);
+    }
+
+    /**
+     * Returns the text notation of the configuration.
+     *
+     * @return The text notation, which can be parsed by {@link #parse(String)}.
+     */
+    @Override
+    public String toString() {
+        return rows + "x" + cols + " " + placement(startBlack, startWhite) + " " + placement(goalBlack, goalWhite);
+    }
+
+    private String placement(long black, long white) {
+        var sb = new StringBuilder();
+        for (var row = 0; row < rows; row++) {
+            if (row > 0) {
+                sb.append('/');
+            }
+            for (var col = 0; col < cols; col++) {
+                long bit = 1L << (row * cols + col);
+                sb.append((black & bit) != 0 ? 'B' : (white & bit) != 0 ? 'W' : '.');
+            }
+        }
+        return sb.toString();
+    }
+
+}
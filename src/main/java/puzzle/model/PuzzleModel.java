@@ -15,30 +15,50 @@ import java.util.*;
  * <p>
  * The board consists of a 5x4 grid where black and white bishops are initially placed in specific positions.
  * The goal of the game is to swap the positions of the black and white bishops by following the rules of chess movement.
+ * Other boards, placements and goals can be played by constructing the model from a {@link PuzzleConfig}.
+ * </p>
+ * <p>
+ * The rules and the board itself are implemented by the headless {@link PuzzleState}, this class only adapts it to
+ * JavaFX by exposing the squares of the board and the number of moves as observable properties.
+ * </p>
+ * <p>
+ * The moves made are kept in a history of encoded moves, so they can be undone and redone without keeping copies
+ * of the board. The last move changing the board, including an undone move taken back in reverse, is exposed as an
+ * observable property, so views can redraw only the squares it touched.
  * </p>
  */
 public class PuzzleModel implements TwoPhaseMoveState<Position> {
 
     /**
-     * The number of rows on the board.
+     * Property representing the number of moves made by the player.
      */
-    private static final int BOARD_ROWS = 5;
-
+    private final IntegerProperty moves = new SimpleIntegerProperty(this, "moves", 0);
     /**
-     * The number of columns on the board.
+     * The headless state of the board.
      */
-    private static final int BOARD_COLS = 4;
+    private final PuzzleState state;
     /**
-     * Property representing the number of moves made by the player.
+     * Represents the board as observable properties, created on first access.
      */
-    private final IntegerProperty moves = new SimpleIntegerProperty(this, "moves", 0);
+    private ReadOnlyObjectWrapper<Bishop>[][] board;
     /**
-     * Represents the board, storing the bishops' positions.
+     * The last move changing the board, or {@code null} if none has been made.
      */
-    private ReadOnlyObjectWrapper<Bishop>[][] board;
+    private final ReadOnlyObjectWrapper<TwoPhaseMove<Position>> lastMove = new ReadOnlyObjectWrapper<>(this,
+            "lastMove");
 
     private Position position = null;
 
+    /**
+     * The encoded moves made, see {@link PuzzleConfig#encodeMove(int, int)}. The first {@code undoable} moves have been
+     * made and may be undone, the moves after them up to {@code historySize} have been undone and may be redone.
+     */
+    private int[] history = new int[16];
+
+    private int historySize;
+
+    private int undoable;
+
 
     /**
      * Constructs a new PuzzleModel object.
@@ -47,29 +67,80 @@ public class PuzzleModel implements TwoPhaseMoveState<Position> {
      * </p>
      */
     public PuzzleModel() {
-        board = new ReadOnlyObjectWrapper[BOARD_ROWS][BOARD_COLS];
-        for (var i = 0; i < BOARD_ROWS; i++) {
-            for (var j = 0; j < BOARD_COLS; j++) {
-                if (i == 0 && (j == 1 || j == 3)) {
-                    board[i][j] = new ReadOnlyObjectWrapper<>(Bishop.BLACK);
-                } else if (i == 4 && (j == 1 || j == 3)) {
-                    board[i][j] = new ReadOnlyObjectWrapper<>(Bishop.WHITE);
-                } else {
-                    board[i][j] = new ReadOnlyObjectWrapper<>(Bishop.NONE);
-                }
+        this(new PuzzleState());
+    }
 
-            }
-        }
+    /**
+     * Constructs a new PuzzleModel object of the specified puzzle.
+     * <p>
+     * Initializes the puzzle board with bishops placed in the starting positions of the configuration.
+     * </p>
+     *
+     * @param config The configuration of the puzzle.
+     */
+    public PuzzleModel(PuzzleConfig config) {
+        this(new PuzzleState(config));
     }
 
     /**
-     * Checks if a position is within the bounds of the puzzle board.
+     * Constructs a new PuzzleModel object backed by the specified state.
+     *
+     * @param state The state of the board, which is owned by the model from now on.
+     */
+    public PuzzleModel(PuzzleState state) {
+        this.state = state;
+    }
+
+    /**
+     * Checks if a position is within the bounds of the board of the puzzle.
      *
      * @param p The position to check.
      * @return {@code true} if the position is within the board, {@code false} otherwise.
      */
-    public static boolean isOnBoard(Position p) {
-        return 0 <= p.row() && p.row() < BOARD_ROWS && 0 <= p.col() && p.col() < BOARD_COLS;
+    public boolean isOnBoard(Position p) {
+        return state.getConfig().isOnBoard(p);
+    }
+
+    /**
+     * Gets the configuration of the puzzle.
+     *
+     * @return The configuration of the puzzle.
+     */
+    public PuzzleConfig getConfig() {
+        return state.getConfig();
+    }
+
+    /**
+     * Gets a copy of the headless state of the board.
+     *
+     * @return A copy of the state of the board.
+     */
+    public PuzzleState getState() {
+        return state.clone();
+    }
+
+    /**
+     * Gets the canonical key of the layout of the board.
+     * <p>
+     * Unlike {@link #equals(Object)}, the key ignores the number of moves and the selected position, so it identifies
+     * the same layout regardless of how it was reached.
+     * </p>
+     *
+     * @return The key of the layout.
+     * @see PuzzleState#getKey()
+     */
+    public long getKey() {
+        return state.getKey();
+    }
+
+    /**
+     * Gets the Zobrist hash of the layout of the board, maintained incrementally as the moves are made.
+     *
+     * @return The Zobrist hash of the layout.
+     * @see PuzzleState#getZobristHash()
+     */
+    public long getZobristHash() {
+        return state.getZobristHash();
     }
 
     /**
@@ -80,9 +151,30 @@ public class PuzzleModel implements TwoPhaseMoveState<Position> {
      * @return The read-only object property representing the bishop at the specified position.
      */
     public ReadOnlyObjectProperty<Bishop> bishopProperty(int row, int col) {
+        if (board == null) {
+            PuzzleConfig config = state.getConfig();
+            board = new ReadOnlyObjectWrapper[config.getRows()][config.getCols()];
+            for (var i = 0; i < config.getRows(); i++) {
+                for (var j = 0; j < config.getCols(); j++) {
+                    board[i][j] = new ReadOnlyObjectWrapper<>(state.getBishop(new Position(i, j)));
+                }
+            }
+        }
         return board[row][col].getReadOnlyProperty();
     }
 
+    /**
+     * Retrieves the property representing the last move changing the board.
+     * <p>
+     * An undone move is reported as the reverse move, which takes the bishop back.
+     * </p>
+     *
+     * @return The read-only property of the last move, holding {@code null} until a move is made.
+     */
+    public ReadOnlyObjectProperty<TwoPhaseMove<Position>> lastMoveProperty() {
+        return lastMove.getReadOnlyProperty();
+    }
+
     /**
      * Gets the number of moves made by the player.
      *
@@ -124,17 +216,19 @@ public class PuzzleModel implements TwoPhaseMoveState<Position> {
      * @return The bishop at the specified position.
      */
     public Bishop getBishop(Position p) {
-        return board[p.row()][p.col()].get();
+        return state.getBishop(p);
     }
 
     /**
-     * Sets the bishop at the specified position on the board.
+     * Updates the property of the specified position on the board to reflect the state, if the properties have
+     * already been created.
      *
-     * @param p      The position where the bishop will be set.
-     * @param bishop The bishop to be set at the position.
+     * @param p The position to update.
      */
-    private void setBishop(Position p, Bishop bishop) {
-        board[p.row()][p.col()].set(bishop);
+    private void updateBishopProperty(Position p) {
+        if (board != null) {
+            board[p.row()][p.col()].set(state.getBishop(p));
+        }
     }
 
     /**
@@ -145,7 +239,7 @@ public class PuzzleModel implements TwoPhaseMoveState<Position> {
      */
     @Override
     public boolean isLegalToMoveFrom(Position from) {
-        return isOnBoard(from) && !isEmpty(from);
+        return state.isLegalToMoveFrom(from);
     }
 
     /**
@@ -155,7 +249,7 @@ public class PuzzleModel implements TwoPhaseMoveState<Position> {
      * @return {@code true} if the position is empty, {@code false} otherwise.
      */
     public boolean isEmpty(Position p) {
-        return getBishop(p) == Bishop.NONE;
+        return state.isEmpty(p);
     }
 
     /**
@@ -165,10 +259,7 @@ public class PuzzleModel implements TwoPhaseMoveState<Position> {
      */
     @Override
     public boolean isSolved() {
-        boolean blackBishopsFinalPositions = getBishop(new Position(4, 1)) == Bishop.BLACK && getBishop(new Position(4, 3)) == Bishop.BLACK;
-        boolean whiteBishopsFinalPositions = getBishop(new Position(0, 1)) == Bishop.WHITE && getBishop(new Position(0, 3)) == Bishop.WHITE;
-
-        return blackBishopsFinalPositions && whiteBishopsFinalPositions;
+        return state.isSolved();
     }
 
     /**
@@ -179,11 +270,7 @@ public class PuzzleModel implements TwoPhaseMoveState<Position> {
      */
     @Override
     public boolean isLegalMove(TwoPhaseMove<Position> positionTwoPhaseMove) {
-        Position from = positionTwoPhaseMove.from();
-        Position to = positionTwoPhaseMove.to();
-        Bishop movingBishop = getBishop(from);
-
-        return isLegalToMoveFrom(from) && isOnBoard(to) && isEmpty(to) && isBishopMove(from, to) && isMoveAllowedByOpposite(to, movingBishop);
+        return state.isLegalMove(positionTwoPhaseMove);
     }
 
     /**
@@ -197,12 +284,74 @@ public class PuzzleModel implements TwoPhaseMoveState<Position> {
             Position from = move.from();
             Position to = move.to();
 
-            Bishop fromBishop = getBishop(from);
-
-            setBishop(to, fromBishop);
-            setBishop(from, Bishop.NONE);
+            state.makeMove(move);
+            updateBishopProperty(to);
+            updateBishopProperty(from);
             addMoves();
+            if (undoable == history.length) {
+                history = Arrays.copyOf(history, 2 * history.length);
+            }
+            PuzzleConfig config = state.getConfig();
+            history[undoable++] = config.encodeMove(config.square(from), config.square(to));
+            historySize = undoable;
+            lastMove.set(move);
+        }
+    }
+
+    /**
+     * Checks if there is a move to undo.
+     *
+     * @return {@code true} if a move has been made and not undone, {@code false} otherwise.
+     */
+    public boolean canUndo() {
+        return undoable > 0;
+    }
+
+    /**
+     * Checks if there is a move to redo.
+     *
+     * @return {@code true} if a move has been undone and no other move has been made since, {@code false} otherwise.
+     */
+    public boolean canRedo() {
+        return undoable < historySize;
+    }
+
+    /**
+     * Takes back the last move made, decrementing the move count.
+     *
+     * @return {@code true} if a move was undone, {@code false} if there was no move to undo.
+     */
+    public boolean undo() {
+        if (!canUndo()) {
+            return false;
+        }
+        int move = history[--undoable];
+        PuzzleConfig config = state.getConfig();
+        state.unmakeMove(config.moveFrom(move), config.moveTo(move));
+        updateBishopProperty(config.position(config.moveFrom(move)));
+        updateBishopProperty(config.position(config.moveTo(move)));
+        setMoves(getMoves() - 1);
+        lastMove.set(new TwoPhaseMove<>(config.position(config.moveTo(move)), config.position(config.moveFrom(move))));
+        return true;
+    }
+
+    /**
+     * Makes the last move undone again, incrementing the move count.
+     *
+     * @return {@code true} if a move was redone, {@code false} if there was no move to redo.
+     */
+    public boolean redo() {
+        if (!canRedo()) {
+            return false;
         }
+        int move = history[undoable++];
+        PuzzleConfig config = state.getConfig();
+        state.makeMove(config.moveFrom(move), config.moveTo(move));
+        updateBishopProperty(config.position(config.moveFrom(move)));
+        updateBishopProperty(config.position(config.moveTo(move)));
+        addMoves();
+        lastMove.set(new TwoPhaseMove<>(config.position(config.moveFrom(move)), config.position(config.moveTo(move))));
+        return true;
     }
 
     /**
@@ -211,37 +360,19 @@ public class PuzzleModel implements TwoPhaseMoveState<Position> {
      * @return The set of legal moves.
      */
     public Set<TwoPhaseMove<Position>> getLegalMoves() {
-        Set<TwoPhaseMove<Position>> legalMoves = new HashSet<>();
-        for (int fromRow = 0; fromRow < BOARD_ROWS; fromRow++) {
-            for (int fromCol = 0; fromCol < BOARD_COLS; fromCol++) {
-                Position from = new Position(fromRow, fromCol);
-                if (isLegalToMoveFrom(from)) {
-                    for (int targetRow = 0; targetRow < BOARD_ROWS; targetRow++) {
-                        for (int targetCol = 0; targetCol < BOARD_COLS; targetCol++) {
-                            Position to = new Position(targetRow, targetCol);
-                            TwoPhaseMove<Position> move = new TwoPhaseMove<>(from, to);
-                            if (isLegalMove(move)) {
-                                legalMoves.add(move);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return legalMoves;
+        return state.getLegalMoves();
     }
 
 
     @Override
     public PuzzleModel clone() {
-        PuzzleModel copy = new PuzzleModel();
+        PuzzleModel copy = new PuzzleModel(state.clone());
         copy.setMoves(this.getMoves());
-        copy.position = this.position != null ? new Position(this.position.row(), this.position.col()) : null;
-        for (var i = 0; i < BOARD_ROWS; i++) {
-            for (var j = 0; j < BOARD_COLS; j++) {
-                copy.board[i][j] = new ReadOnlyObjectWrapper<>(board[i][j].get());
-            }
-        }
+        copy.position = this.position;
+        copy.history = this.history.clone();
+        copy.historySize = this.historySize;
+        copy.undoable = this.undoable;
+        copy.lastMove.set(this.lastMove.get());
         return copy;
     }
 
@@ -253,26 +384,7 @@ public class PuzzleModel implements TwoPhaseMoveState<Position> {
      * @return {@code true} if the move is a valid bishop move, {@code false} otherwise.
      */
     public boolean isBishopMove(Position from, Position to) {
-        var dx = Math.abs(to.row() - from.row());
-        var dy = Math.abs(to.col() - from.col());
-        if (dx != dy) {
-            return false;
-        }
-
-        int rowDirection = (to.row() - from.row()) > 0 ? 1 : -1;
-        int colDirection = (to.col() - from.col()) > 0 ? 1 : -1;
-
-        int currentRow = from.row() + rowDirection;
-        int currentCol = from.col() + colDirection;
-
-        while (currentRow != to.row() && currentCol != to.col()) {
-            if (getBishop(new Position(currentRow, currentCol)) != Bishop.NONE) {
-                return false;
-            }
-            currentRow += rowDirection;
-            currentCol += colDirection;
-        }
-        return true;
+        return state.isBishopMove(from, to);
     }
 
     /**
@@ -283,19 +395,7 @@ public class PuzzleModel implements TwoPhaseMoveState<Position> {
      * @return {@code true} if the move is allowed by the opposite colored bishop, {@code false} otherwise.
      */
     public boolean isMoveAllowedByOpposite(Position destination, Bishop movingBishop) {
-        Bishop oppositeBishop = (movingBishop == Bishop.BLACK) ? Bishop.WHITE : Bishop.BLACK;
-
-        for (int i = 0; i < BOARD_ROWS; i++) {
-            for (int j = 0; j < BOARD_COLS; j++) {
-                Position attackerPosition = new Position(i, j);
-                Bishop bishop = getBishop(attackerPosition);
-
-                if (bishop == oppositeBishop && isBishopMove(attackerPosition, destination)) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return state.isMoveAllowedByOpposite(destination, movingBishop);
     }
 
     @Override
@@ -306,47 +406,17 @@ public class PuzzleModel implements TwoPhaseMoveState<Position> {
         if (!(o instanceof PuzzleModel that)) return false;
         if (moves.get() != that.moves.get()) return false;
         if (!Objects.equals(position, that.position)) return false;
-        for (var i = 0; i < BOARD_ROWS; i++) {
-            for (var j = 0; j < BOARD_COLS; j++) {
-                if (board[i][j].get() != that.board[i][j].get()) return false;
-            }
-        }
-        return true;
+        return state.equals(that.state);
     }
 
     @Override
     public int hashCode() {
-        var result = Objects.hash(moves.get(), position);
-        for (var i = 0; i < BOARD_ROWS; i++) {
-            for (var j = 0; j < BOARD_COLS; j++) {
-                result = 31 * result + board[i][j].get().hashCode();
-            }
-        }
-        return result;
+        return 31 * Objects.hash(moves.get(), position) + state.hashCode();
     }
 
     @Override
     public String toString() {
-        var sb = new StringBuilder();
-        sb.append("\nPuzzle Board:\n");
-        sb.append("  ");
-        for (var col = 0; col < BOARD_COLS; col++) {
-            sb.append(col).append(' ');
-        }
-        sb.append('\n');
-        for (var i = 0; i < BOARD_ROWS; i++) {
-            sb.append(i).append(' ');
-            for (var j = 0; j < BOARD_COLS; j++) {
-                switch (board[i][j].get()) {
-                    case BLACK -> sb.append('B');
-                    case WHITE -> sb.append('W');
-                    case NONE -> sb.append('.');
-                }
-                sb.append(' ');
-            }
-            sb.append('\n');
-        }
-        return sb.toString();
+        return state.toString();
     }
 
 }
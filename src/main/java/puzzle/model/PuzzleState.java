@@ -0,0 +1,548 @@
+package puzzle.model;
+
+import puzzle.TwoPhaseMoveState;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Represents a headless state of the Bishop Swap Puzzle.
+ * <p>
+ * Unlike {@link PuzzleModel}, this class does not depend on JavaFX. The board is packed into two bitmasks, one for the
+ * black and one for the white bishops, where bit {@code row * cols + col} is set if a bishop of the given color occupies
+ * the square at {@code (row, col)}. A state therefore consists of two {@code long} values and a reference to the shared
+ * {@link PuzzleConfig} of the puzzle, which makes it cheap to clone, compare and hash, and suitable as a search node for
+ * the solvers.
+ * </p>
+ * <p>
+ * Every state also maintains a Zobrist hash of its layout, the exclusive or of a random key for every occupied square
+ * and the color of its bishop. The hash is updated incrementally by {@link #makeMove(int, int)}, so it takes constant
+ * time per move regardless of the size of the board, and is well distributed over all its 64 bits, unlike the
+ * {@linkplain #getKey() key} of the layout.
+ * </p>
+ */
+public class PuzzleState implements TwoPhaseMoveState<Position> {
+
+    /**
+     * The Zobrist keys of the squares occupied by black bishops, indexed by square.
+     */
+    private static final long[] BLACK_KEYS = new long[BishopMoves.MAX_SQUARES];
+
+    /**
+     * The Zobrist keys of the squares occupied by white bishops, indexed by square.
+     */
+    private static final long[] WHITE_KEYS = new long[BishopMoves.MAX_SQUARES];
+
+    static {
+        var random = new SplittableRandom(0xB15B0FL);
+        for (var square = 0; square < BishopMoves.MAX_SQUARES; square++) {
+            BLACK_KEYS[square] = random.nextLong();
+            WHITE_KEYS[square] = random.nextLong();
+        }
+    }
+
+    private final PuzzleConfig config;
+
+    private long black;
+
+    private long white;
+
+    /**
+     * The Zobrist hash of the layout, see {@link #zobristHash(long, long)}.
+     */
+    private long hash;
+
+    /**
+     * Constructs a new PuzzleState object of the standard puzzle with the bishops placed in their initial positions.
+     */
+    public PuzzleState() {
+        this(PuzzleConfig.STANDARD);
+    }
+
+    /**
+     * Constructs a new PuzzleState object of the specified puzzle with the bishops placed in their initial positions.
+     *
+     * @param config The configuration of the puzzle.
+     */
+    public PuzzleState(PuzzleConfig config) {
+        this(config, config.getStartBlack(), config.getStartWhite());
+    }
+
+    /**
+     * Constructs a new PuzzleState object of the standard puzzle from the specified bitmasks.
+     *
+     * @param black The bitmask of the squares occupied by black bishops.
+     * @param white The bitmask of the squares occupied by white bishops.
+     * @throws IllegalArgumentException If a bitmask contains a square outside the board, or the bitmasks overlap.
+     */
+    public PuzzleState(long black, long white) {
+        this(PuzzleConfig.STANDARD, black, white);
+    }
+
+    /**
+     * Constructs a new PuzzleState object of the specified puzzle from the specified bitmasks.
+     *
+     * @param config The configuration of the puzzle.
+     * @param black  The bitmask of the squares occupied by black bishops.
+     * @param white  The bitmask of the squares occupied by white bishops.
+     * @throws IllegalArgumentException If a bitmask contains a square outside the board, or the bitmasks overlap.
+     */
+    public PuzzleState(PuzzleConfig config, long black, long white) {
+        long board = config.getBoardMask();
+        if ((black & ~board) != 0 || (white & ~board) != 0) {
+            throw new IllegalArgumentException("Bishop outside the board");
+        }
+        if ((black & white) != 0) {
+            throw new IllegalArgumentException("Black and white bishops overlap");
+        }
+        this.config = config;
+        this.black = black;
+        this.white = white;
+        hash = zobristHash(black, white);
+    }
+
+    /**
+     * Returns a new PuzzleState object of the standard puzzle with the bishops placed in their goal positions.
+     *
+     * @return The solved state.
+     */
+    public static PuzzleState goal() {
+        return goal(PuzzleConfig.STANDARD);
+    }
+
+    /**
+     * Returns a new PuzzleState object of the specified puzzle with the bishops placed in their goal positions.
+     *
+     * @param config The configuration of the puzzle.
+     * @return The solved state.
+     */
+    public static PuzzleState goal(PuzzleConfig config) {
+        return new PuzzleState(config, config.getGoalBlack(), config.getGoalWhite());
+    }
+
+    /**
+     * Gets the configuration of the puzzle this state belongs to.
+     *
+     * @return The configuration of the puzzle.
+     */
+    public PuzzleConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Gets the bitmask of the squares occupied by black bishops.
+     *
+     * @return The bitmask of the black bishops.
+     */
+    public long getBlackMask() {
+        return black;
+    }
+
+    /**
+     * Gets the bitmask of the squares occupied by white bishops.
+     *
+     * @return The bitmask of the white bishops.
+     */
+    public long getWhiteMask() {
+        return white;
+    }
+
+    /**
+     * Gets the canonical key of the layout of the board.
+     * <p>
+     * The key depends only on the squares of the black and white bishops, so two states of the same puzzle have the
+     * same key if and only if they are equal. It is meant to be used for visited-set membership and transposition
+     * lookups in the solvers.
+     * </p>
+     *
+     * @return The key of the layout.
+     * @see PuzzleConfig#key(long, long)
+     */
+    public long getKey() {
+        return config.key(black, white);
+    }
+
+    /**
+     * Gets the Zobrist hash of the layout of the board.
+     * <p>
+     * Equal states have equal hashes, but different layouts may collide, so the hash is meant for indexing hash tables
+     * and transposition tables rather than for identifying a layout, which is what {@link #getKey()} is for.
+     * </p>
+     *
+     * @return The Zobrist hash of the layout.
+     */
+    public long getZobristHash() {
+        return hash;
+    }
+
+    /**
+     * Computes the Zobrist hash of the layout given by the specified bitmasks from scratch.
+     *
+     * @param black The bitmask of the black bishops.
+     * @param white The bitmask of the white bishops.
+     * @return The Zobrist hash of the layout, the same as {@link #getZobristHash()} of a state with the layout.
+     */
+    public static long zobristHash(long black, long white) {
+        long hash = 0;
+        for (; black != 0; black &= black - 1) {
+            hash ^= BLACK_KEYS[Long.numberOfTrailingZeros(black)];
+        }
+        for (; white != 0; white &= white - 1) {
+            hash ^= WHITE_KEYS[Long.numberOfTrailingZeros(white)];
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the Zobrist key of the bishop on the specified square, or {@code 0} if the square is empty.
+     */
+    private long zobristKey(int square) {
+        long mask = 1L << square;
+        if ((black & mask) != 0) {
+            return BLACK_KEYS[square];
+        }
+        if ((white & mask) != 0) {
+            return WHITE_KEYS[square];
+        }
+        return 0;
+    }
+
+    /**
+     * Retrieves the bishop at the specified square.
+     *
+     * @param square The index of the square.
+     * @return The bishop at the specified square.
+     */
+    public Bishop getBishop(int square) {
+        long mask = 1L << square;
+        if ((black & mask) != 0) {
+            return Bishop.BLACK;
+        }
+        if ((white & mask) != 0) {
+            return Bishop.WHITE;
+        }
+        return Bishop.NONE;
+    }
+
+    /**
+     * Retrieves the bishop at the specified position on the board.
+     *
+     * @param p The position to retrieve the bishop from.
+     * @return The bishop at the specified position.
+     */
+    public Bishop getBishop(Position p) {
+        return getBishop(config.square(p));
+    }
+
+    /**
+     * Checks if a position on the puzzle board is empty.
+     *
+     * @param p The position to check.
+     * @return {@code true} if the position is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty(Position p) {
+        return ((black | white) & (1L << config.square(p))) == 0;
+    }
+
+    /**
+     * Checks if a move from the specified position is legal.
+     *
+     * @param from The position to move from.
+     * @return {@code true} if the move is legal, {@code false} otherwise.
+     */
+    @Override
+    public boolean isLegalToMoveFrom(Position from) {
+        return config.isOnBoard(from) && !isEmpty(from);
+    }
+
+    /**
+     * Checks if the puzzle has been solved, i.e., the black and white bishops have reached their goal positions.
+     *
+     * @return {@code true} if the puzzle is solved, {@code false} otherwise.
+     */
+    @Override
+    public boolean isSolved() {
+        return black == config.getGoalBlack() && white == config.getGoalWhite();
+    }
+
+    /**
+     * Checks if a move is legal according to the rules of the puzzle.
+     *
+     * @param positionTwoPhaseMove The move to be checked.
+     * @return {@code true} if the move is legal, {@code false} otherwise.
+     */
+    @Override
+    public boolean isLegalMove(TwoPhaseMove<Position> positionTwoPhaseMove) {
+        Position from = positionTwoPhaseMove.from();
+        Position to = positionTwoPhaseMove.to();
+        if (!isLegalToMoveFrom(from) || !config.isOnBoard(to) || !isEmpty(to)) {
+            return false;
+        }
+        return isLegalMove(config.square(from), config.square(to));
+    }
+
+    private boolean isLegalMove(int from, int to) {
+        long occupied = black | white;
+        long opposite = (black & (1L << from)) != 0 ? white : black;
+        BishopMoves moves = config.getBishopMoves();
+        long targets = moves.attacks(from, occupied) & ~moves.attacksOf(opposite, occupied);
+        return (targets & (1L << to)) != 0;
+    }
+
+    /**
+     * Performs a move on the puzzle board.
+     * <p>
+     * The move is assumed to be legal, it is the responsibility of the caller to check it.
+     * </p>
+     *
+     * @param move The move to be performed.
+     */
+    @Override
+    public void makeMove(TwoPhaseMove<Position> move) {
+        makeMove(config.square(move.from()), config.square(move.to()));
+    }
+
+    /**
+     * Moves the bishop on the {@code from} square to the {@code to} square, replacing any bishop on the {@code to}
+     * square. Moving from an empty square empties the {@code to} square.
+     *
+     * @param from The index of the square to move from.
+     * @param to   The index of the square to move to.
+     */
+    public void makeMove(int from, int to) {
+        long fromBit = 1L << from;
+        long toBit = 1L << to;
+        boolean isBlack = (black & fromBit) != 0;
+        boolean isWhite = (white & fromBit) != 0;
+        hash ^= zobristKey(from);
+        if (to != from) {
+            hash ^= zobristKey(to);
+        }
+        black &= ~(fromBit | toBit);
+        white &= ~(fromBit | toBit);
+        if (isBlack) {
+            black |= toBit;
+        } else if (isWhite) {
+            white |= toBit;
+        }
+        hash ^= zobristKey(to);
+    }
+
+    /**
+     * Takes back a move made by {@link #makeMove(int, int)}, moving the bishop on the {@code to} square back to the
+     * {@code from} square.
+     * <p>
+     * As the bishops never capture, the move itself is all that is needed to take it back, so depth-first searches can
+     * make and take back moves on a single state instead of cloning it for every successor.
+     * </p>
+     *
+     * @param from The index of the square the bishop was moved from, which must be empty.
+     * @param to   The index of the square the bishop was moved to.
+     */
+    public void unmakeMove(int from, int to) {
+        makeMove(to, from);
+    }
+
+    /**
+     * Gets the set of all legal moves available in the current puzzle state.
+     *
+     * @return The set of legal moves.
+     */
+    @Override
+    public Set<TwoPhaseMove<Position>> getLegalMoves() {
+        int[] buffer = new int[config.getMaxMoves()];
+        int count = getLegalMoves(buffer);
+        Set<TwoPhaseMove<Position>> legalMoves = new HashSet<>();
+        for (var i = 0; i < count; i++) {
+            legalMoves.add(new TwoPhaseMove<>(config.position(config.moveFrom(buffer[i])),
+                    config.position(config.moveTo(buffer[i]))));
+        }
+        return legalMoves;
+    }
+
+    /**
+     * Stores all the legal moves available in the current puzzle state into the specified buffer without allocating
+     * any objects.
+     * <p>
+     * The moves are encoded as by {@link PuzzleConfig#encodeMove(int, int)}, and a buffer of
+     * {@link PuzzleConfig#getMaxMoves()} elements is always large enough to hold them.
+     * </p>
+     *
+     * @param buffer The buffer to store the encoded moves into, starting at index 0.
+     * @return The number of legal moves stored.
+     */
+    public int getLegalMoves(int[] buffer) {
+        return getLegalMoves(config, black, white, buffer);
+    }
+
+    /**
+     * Stores all the legal moves available in the layout given by the specified bitmasks into the specified buffer
+     * without allocating any objects.
+     *
+     * @param config The configuration of the puzzle.
+     * @param black  The bitmask of the black bishops.
+     * @param white  The bitmask of the white bishops.
+     * @param buffer The buffer to store the encoded moves into, starting at index 0.
+     * @return The number of legal moves stored.
+     * @see #getLegalMoves(int[])
+     */
+    public static int getLegalMoves(PuzzleConfig config, long black, long white, int[] buffer) {
+        BishopMoves moves = config.getBishopMoves();
+        long occupied = black | white;
+        int count = addLegalMoves(config, buffer, 0, black, ~occupied & ~moves.attacksOf(white, occupied), occupied);
+        return addLegalMoves(config, buffer, count, white, ~occupied & ~moves.attacksOf(black, occupied), occupied);
+    }
+
+    /**
+     * Stores all the moves leading to the layout given by the specified bitmasks into the specified buffer without
+     * allocating any objects.
+     * <p>
+     * A move from {@code from} to {@code to} is stored if the bishop on the {@code to} square could have legally moved
+     * there from the empty {@code from} square. As a square attacked by the opposite bishops may be left but not
+     * entered, this is not simply the set of legal moves with their directions reversed.
+     * </p>
+     *
+     * @param config The configuration of the puzzle.
+     * @param black  The bitmask of the black bishops.
+     * @param white  The bitmask of the white bishops.
+     * @param buffer The buffer to store the encoded moves into, starting at index 0.
+     * @return The number of moves stored.
+     */
+    public static int getPredecessorMoves(PuzzleConfig config, long black, long white, int[] buffer) {
+        int count = addPredecessorMoves(config, buffer, 0, black, white, black | white);
+        return addPredecessorMoves(config, buffer, count, white, black, black | white);
+    }
+
+    /**
+     * Stores the moves of the specified bishops leading to the current layout into a buffer.
+     *
+     * @param config   The configuration of the puzzle.
+     * @param buffer   The buffer to store the encoded moves into.
+     * @param count    The number of moves already in the buffer.
+     * @param bishops  The bitmask of the bishops that have moved, all of the same color.
+     * @param opposite The bitmask of the bishops of the opposite color.
+     * @param occupied The bitmask of the occupied squares.
+     * @return The number of moves in the buffer.
+     */
+    private static int addPredecessorMoves(PuzzleConfig config, int[] buffer, int count, long bishops, long opposite,
+                                           long occupied) {
+        BishopMoves moves = config.getBishopMoves();
+        for (; bishops != 0; bishops &= bishops - 1) {
+            int to = Long.numberOfTrailingZeros(bishops);
+            for (long sources = moves.attacks(to, occupied) & ~occupied; sources != 0; sources &= sources - 1) {
+                int from = Long.numberOfTrailingZeros(sources);
+                long before = occupied ^ (1L << to) ^ (1L << from);
+                if ((moves.attacks(to, before) & opposite) == 0) {
+                    buffer[count++] = config.encodeMove(from, to);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Stores the legal moves of the specified bishops into a buffer.
+     *
+     * @param config   The configuration of the puzzle.
+     * @param buffer   The buffer to store the encoded moves into.
+     * @param count    The number of moves already in the buffer.
+     * @param bishops  The bitmask of the bishops to move, all of the same color.
+     * @param allowed  The bitmask of the empty squares not attacked by the bishops of the opposite color.
+     * @param occupied The bitmask of the occupied squares.
+     * @return The number of moves in the buffer.
+     */
+    private static int addLegalMoves(PuzzleConfig config, int[] buffer, int count, long bishops, long allowed,
+                                     long occupied) {
+        BishopMoves moves = config.getBishopMoves();
+        for (; bishops != 0; bishops &= bishops - 1) {
+            int from = Long.numberOfTrailingZeros(bishops);
+            for (long targets = moves.attacks(from, occupied) & allowed; targets != 0; targets &= targets - 1) {
+                buffer[count++] = config.encodeMove(from, Long.numberOfTrailingZeros(targets));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks if the move from one position to another is a valid bishop move, i.e., the positions are on the same
+     * diagonal and the squares between them are empty.
+     *
+     * @param from The starting position of the move.
+     * @param to   The destination position of the move.
+     * @return {@code true} if the move is a valid bishop move, {@code false} otherwise.
+     */
+    public boolean isBishopMove(Position from, Position to) {
+        return isBishopMove(config.square(from), config.square(to));
+    }
+
+    private boolean isBishopMove(int from, int to) {
+        return (config.getBishopMoves().attacks(from, black | white) & (1L << to)) != 0;
+    }
+
+    /**
+     * Checks if a move is allowed by the opposite colored bishops, i.e., none of them attacks the destination.
+     *
+     * @param destination  The destination position of the move.
+     * @param movingBishop The bishop being moved.
+     * @return {@code true} if the move is allowed by the opposite colored bishops, {@code false} otherwise.
+     */
+    public boolean isMoveAllowedByOpposite(Position destination, Bishop movingBishop) {
+        return isMoveAllowedByOpposite(config.square(destination), movingBishop);
+    }
+
+    private boolean isMoveAllowedByOpposite(int destination, Bishop movingBishop) {
+        long opposite = (movingBishop == Bishop.BLACK) ? white : black;
+        return (config.getBishopMoves().attacksOf(opposite, black | white) & (1L << destination)) == 0;
+    }
+
+    @Override
+    public PuzzleState clone() {
+        PuzzleState copy;
+        try {
+            copy = (PuzzleState) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        return o instanceof PuzzleState that && black == that.black && white == that.white
+                && config.hasSameGoal(that.config);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        sb.append("\nPuzzle Board:\n");
+        sb.append("  ");
+        for (var col = 0; col < config.getCols(); col++) {
+            sb.append(col).append(' ');
+        }
+        sb.append('\n');
+        for (var i = 0; i < config.getRows(); i++) {
+            sb.append(i).append(' ');
+            for (var j = 0; j < config.getCols(); j++) {
+                switch (getBishop(i * config.getCols() + j)) {
+                    case BLACK -> sb.append('B');
+                    case WHITE -> sb.append('W');
+                    case NONE -> sb.append('.');
+                }
+                sb.append(' ');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+}
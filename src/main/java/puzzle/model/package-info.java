@@ -2,6 +2,11 @@
  * Provides the classes and interfaces for the Bishop Swap Puzzle model.
  * <p>
  * This package includes the main model class {@link puzzle.model.PuzzleModel}, which manages the puzzle board state and enforces game rules.
+ * The model is backed by {@link puzzle.model.PuzzleState}, a headless bitboard representation of the board that can also be
+ * used by the solvers without JavaFX, and maintains a Zobrist hash of the layout incrementally as moves are made. Move generation is based on the precomputed diagonal rays of
+ * {@link puzzle.model.BishopMoves}, and {@link puzzle.model.LayoutRanker} maps the layouts of the board
+ * to dense indices, while {@link puzzle.model.BoardSymmetry} maps them to their reflections and rotations. The board, the starting and the goal placements are described by {@link puzzle.model.PuzzleConfig},
+ * which allows larger variants of the puzzle to be played and solved.
  * It also includes {@link puzzle.model.Bishop}, representing the possible states of board positions, and {@link puzzle.model.Position},
  * representing board coordinates.
  * </p>
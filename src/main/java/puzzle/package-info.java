@@ -6,7 +6,9 @@
  * including {@link puzzle.controllers.PlayerController}, {@link puzzle.controllers.PuzzleController},
  * and {@link puzzle.controllers.PuzzleResultController}.
  * The {@link puzzle.model} package contains classes representing the game's model, such as {@link puzzle.model.Bishop},
- * {@link puzzle.model.Position}, and {@link puzzle.model.PuzzleModel}.
+ * {@link puzzle.model.Position}, {@link puzzle.model.PuzzleModel} and {@link puzzle.model.PuzzleState}.
+ * The {@link puzzle.results} package stores the results of the games.
+ * The {@link puzzle.BatchSolver} solves many configurations from the command line, without the user interface.
  * </p>
  */
 package puzzle;
\ No newline at end of file
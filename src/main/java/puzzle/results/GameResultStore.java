@@ -0,0 +1,451 @@
+package puzzle.results;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import gameresult.OnePlayerGameResult;
+import gameresult.manager.OnePlayerGameResultManager;
+import org.tinylog.Logger;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores the results of the games in an append-only log of JSON Lines, written asynchronously in batches.
+ * <p>
+ * {@link #submit(OnePlayerGameResult)} only queues the result, so it never blocks on disk I/O and takes the same time
+ * regardless of the number of results stored. The queued results are appended to the log by a single background
+ * thread, once the queue holds {@link #getBatchSize()} results or the flush interval has elapsed, and when the store is
+ * {@linkplain #close() closed}. Every result is a single line of the log, so appending a batch never rewrites the
+ * results already stored.
+ * </p>
+ * <p>
+ * The log is read once, in the background, when the store is created. Lines which are not valid results, such as a
+ * line torn by a crash in the middle of a write, are dropped by compacting the log, which rewrites it from the valid
+ * results and atomically replaces the old one. If the log does not exist yet, the results of the legacy JSON file
+ * written by {@link gameresult.manager.json.JsonOnePlayerGameResultManager} are imported into it. Until the log has
+ * been read, the queued results are kept in the queue and the log is not created, so a failure to read the log or the
+ * legacy file never shadows the results stored in them; reading is retried at every flush.
+ * </p>
+ * <p>
+ * The results are also indexed by a {@link Leaderboard} as they are read and added, so a page of the leaderboard is
+ * returned by {@link #getTop(int, int)} without sorting all the results.
+ * </p>
+ */
+public class GameResultStore implements OnePlayerGameResultManager, Closeable {
+
+    /**
+     * The default path of the log.
+     */
+    public static final Path DEFAULT_PATH = Paths.get("puzzle_results.jsonl");
+
+    /**
+     * The default path of the legacy JSON file, imported into a new log.
+     */
+    public static final Path LEGACY_PATH = Paths.get("puzzle_results.json");
+
+    /**
+     * The default number of queued results which triggers a flush.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    /**
+     * The default maximum time a result stays in the queue.
+     */
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+    private static GameResultStore defaultStore;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.WRITE_DATES_WITH_ZONE_ID)
+            .disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final Path path;
+
+    private final Path legacyPath;
+
+    private final int batchSize;
+
+    private final ScheduledExecutorService writer;
+
+    /**
+     * Guards {@link #results}, {@link #queue}, {@link #leaderboard} and {@link #closed}.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The results stored in the log, {@code null} until the log has been read.
+     */
+    private List<OnePlayerGameResult> results;
+
+    /**
+     * The results queued to be appended to the log, in the order they were added.
+     */
+    private final List<OnePlayerGameResult> queue = new ArrayList<>();
+
+    /**
+     * The index of the stored and the queued results, filled once the log has been read.
+     */
+    private final Leaderboard leaderboard = new Leaderboard();
+
+    private boolean closed;
+
+    /**
+     * Constructs a store of the log at the specified path with the default batch size and flush interval, without a
+     * legacy file to import.
+     *
+     * @param path The path of the log.
+     */
+    public GameResultStore(Path path) {
+        this(path, null, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Constructs a store of the log at the specified path, and starts reading it in the background.
+     *
+     * @param path          The path of the log.
+     * @param legacyPath    The path of the legacy JSON file to import if the log does not exist, or {@code null}.
+     * @param batchSize     The number of queued results which triggers a flush.
+     * @param flushInterval The maximum time a result stays in the queue.
+     * @throws IllegalArgumentException If the batch size or the flush interval is not positive.
+     */
+    public GameResultStore(Path path, Path legacyPath, int batchSize, Duration flushInterval) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be positive: " + flushInterval);
+        }
+        this.path = path;
+        this.legacyPath = legacyPath;
+        this.batchSize = batchSize;
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "game-result-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.execute(this::load);
+        writer.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the store shared by the screens of the application, of the log at {@link #DEFAULT_PATH}, importing the
+     * legacy file at {@link #LEGACY_PATH}.
+     *
+     * @return The default store.
+     */
+    public static synchronized GameResultStore getDefault() {
+        if (defaultStore == null) {
+            defaultStore = new GameResultStore(DEFAULT_PATH, LEGACY_PATH, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+        }
+        return defaultStore;
+    }
+
+    /**
+     * Closes the default store, if it has been created, flushing the queued results.
+     */
+    public static synchronized void closeDefault() {
+        if (defaultStore != null) {
+            defaultStore.close();
+            defaultStore = null;
+        }
+    }
+
+    /**
+     * Gets the path of the log.
+     *
+     * @return The path of the log.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the number of queued results which triggers a flush.
+     *
+     * @return The batch size.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Queues a result to be appended to the log, and returns all the results, waiting for the log to be read if it has
+     * not been read yet. Use {@link #submit(OnePlayerGameResult)} to store a result without waiting.
+     *
+     * @param result The result to store.
+     * @return The results, both those stored in the log and those still queued, in the order they were added.
+     * @throws IOException           If the log could not be read.
+     * @throws IllegalStateException If the store has been closed.
+     */
+    @Override
+    public List<OnePlayerGameResult> add(OnePlayerGameResult result) throws IOException {
+        submit(result);
+        return getAll();
+    }
+
+    /**
+     * Queues a result to be appended to the log, without waiting for it to be written or for the log to be read.
+     *
+     * @param result The result to store.
+     * @throws IllegalStateException If the store has been closed.
+     */
+    public void submit(OnePlayerGameResult result) {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("The store has been closed");
+            }
+            queue.add(result);
+            if (results != null) {
+                leaderboard.add(result);
+            }
+            if (queue.size() == batchSize) {
+                writer.execute(this::flush);
+            }
+        }
+    }
+
+    /**
+     * Returns all the results, both those stored in the log and those still queued, in the order they were added.
+     * <p>
+     * This waits for the log to be read if it has not been read yet.
+     * </p>
+     *
+     * @return The results.
+     * @throws IOException If the log could not be read.
+     */
+    @Override
+    public List<OnePlayerGameResult> getAll() throws IOException {
+        awaitLoaded();
+        synchronized (lock) {
+            List<OnePlayerGameResult> all = new ArrayList<>(results);
+            all.addAll(queue);
+            return all;
+        }
+    }
+
+    /**
+     * Returns a page of the leaderboard of the results, both those stored in the log and those still queued, ranked by
+     * {@link Leaderboard#ORDER}.
+     * <p>
+     * This waits for the log to be read if it has not been read yet.
+     * </p>
+     *
+     * @param offset The number of best results to skip.
+     * @param limit  The maximum number of results to return.
+     * @return The results of the page, best first.
+     * @throws IOException              If the log could not be read.
+     * @throws IllegalArgumentException If the offset or the limit is negative.
+     */
+    public List<OnePlayerGameResult> getTop(int offset, int limit) throws IOException {
+        awaitLoaded();
+        synchronized (lock) {
+            return leaderboard.page(offset, limit);
+        }
+    }
+
+    /**
+     * Waits for the log to be read, unless it has already been read.
+     *
+     * @throws IOException If the log could not be read.
+     */
+    private void awaitLoaded() throws IOException {
+        synchronized (lock) {
+            if (results != null) {
+                return;
+            }
+        }
+        try {
+            writer.submit(this::load).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading the results", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to read the results", e.getCause());
+        } catch (RejectedExecutionException e) {
+            throw new IOException("The store has been closed", e);
+        }
+        synchronized (lock) {
+            if (results == null) {
+                throw new IOException("Failed to read the results from " + path);
+            }
+        }
+    }
+
+    /**
+     * Appends the queued results to the log and waits for them to be written.
+     *
+     * @throws IOException If the results could not be written.
+     */
+    public void flushNow() throws IOException {
+        try {
+            writer.submit(() -> {
+                if (!flush()) {
+                    throw new UncheckedIOException(new IOException("Failed to write the results to " + path));
+                }
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing the results", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to write the results", e.getCause());
+        } catch (RejectedExecutionException e) {
+            throw new IOException("The store has been closed", e);
+        }
+    }
+
+    /**
+     * Closes the store, appending the queued results to the log and stopping the background thread. Results can no
+     * longer be added once the store is closed.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        writer.execute(this::flush);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                Logger.error("Timed out writing the results to {}", path);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the log, unless it has already been read, importing the legacy file if the log does not exist and
+     * compacting the log if it contains lines which are not valid results. Runs on the background thread.
+     */
+    private void load() {
+        synchronized (lock) {
+            if (results != null) {
+                return;
+            }
+        }
+        try {
+            List<OnePlayerGameResult> loaded = new ArrayList<>();
+            if (Files.exists(path)) {
+                var invalid = 0;
+                for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        loaded.add(mapper.readValue(line, OnePlayerGameResult.class));
+                    } catch (JsonProcessingException e) {
+                        invalid++;
+                    }
+                }
+                if (invalid > 0) {
+                    Logger.warn("Dropping {} invalid lines from {}", invalid, path);
+                    compact(loaded);
+                }
+            } else if (legacyPath != null && Files.exists(legacyPath)) {
+                try {
+                    loaded.addAll(mapper.readValue(legacyPath.toFile(),
+                            new TypeReference<List<OnePlayerGameResult>>() {
+                            }));
+                    compact(loaded);
+                    Logger.info("Imported {} results from {}", loaded.size(), legacyPath);
+                } catch (JsonProcessingException e) {
+                    Logger.warn("Failed to import the results from {}: {}", legacyPath, e.getMessage());
+                }
+            }
+            synchronized (lock) {
+                results = loaded;
+                leaderboard.addAll(loaded);
+                leaderboard.addAll(queue);
+            }
+            Logger.debug("Loaded {} results from {}", loaded.size(), path);
+        } catch (IOException e) {
+            Logger.error("Failed to read the results from {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Appends the queued results to the log, once the log has been read. Runs on the background thread.
+     *
+     * @return {@code true} if the queue is empty or the results were written, {@code false} otherwise.
+     */
+    private boolean flush() {
+        load();
+        List<OnePlayerGameResult> batch;
+        synchronized (lock) {
+            if (queue.isEmpty()) {
+                return true;
+            }
+            if (results == null) {
+                return false;
+            }
+            batch = List.copyOf(queue);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+            for (OnePlayerGameResult result : batch) {
+                out.write(mapper.writeValueAsString(result));
+                out.newLine();
+            }
+        } catch (IOException e) {
+            Logger.error("Failed to write the results to {}: {}", path, e.getMessage());
+            return false;
+        }
+        synchronized (lock) {
+            queue.subList(0, batch.size()).clear();
+            results.addAll(batch);
+        }
+        Logger.debug("Appended {} results to {}", batch.size(), path);
+        return true;
+    }
+
+    /**
+     * Rewrites the log with the specified results, replacing the old log atomically.
+     *
+     * @param results The results.
+     * @throws IOException If the log could not be written.
+     */
+    private void compact(List<OnePlayerGameResult> results) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (OnePlayerGameResult result : results) {
+                    out.write(mapper.writeValueAsString(result));
+                    out.newLine();
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+}
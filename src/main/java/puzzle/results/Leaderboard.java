@@ -0,0 +1,111 @@
+package puzzle.results;
+
+import gameresult.OnePlayerGameResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * A sorted index of the results of the games, ranking the results for the leaderboard.
+ * <p>
+ * The results are ranked by {@link #ORDER}: solved games first, then fewer moves, then shorter duration, and results
+ * ranking equally in the order they were added. The index is a balanced search tree, so adding a result takes
+ * logarithmic time, and a page of the leaderboard is read by walking the tree from the best result, in time
+ * proportional to the end of the page rather than to the number of results.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public class Leaderboard {
+
+    /**
+     * The order of the results on the leaderboard: solved games first, then fewer moves, then shorter duration.
+     */
+    public static final Comparator<OnePlayerGameResult> ORDER = Comparator
+            .comparing(OnePlayerGameResult::isSolved, Comparator.reverseOrder())
+            .thenComparingInt(OnePlayerGameResult::getNumberOfMoves)
+            .thenComparing(OnePlayerGameResult::getDuration, Comparator.nullsLast(Comparator.<Duration>naturalOrder()));
+
+    /**
+     * A result on the leaderboard, numbered in the order of adding to break ties.
+     *
+     * @param result   The result.
+     * @param sequence The number of results added before.
+     */
+    private record Entry(OnePlayerGameResult result, long sequence) {
+    }
+
+    private final TreeSet<Entry> entries = new TreeSet<>(Comparator.comparing(Entry::result, ORDER)
+            .thenComparingLong(Entry::sequence));
+
+    private long sequence;
+
+    /**
+     * Adds a result to the leaderboard.
+     *
+     * @param result The result.
+     */
+    public void add(OnePlayerGameResult result) {
+        entries.add(new Entry(result, sequence++));
+    }
+
+    /**
+     * Adds results to the leaderboard, in the order of the list.
+     *
+     * @param results The results.
+     */
+    public void addAll(List<OnePlayerGameResult> results) {
+        for (OnePlayerGameResult result : results) {
+            add(result);
+        }
+    }
+
+    /**
+     * Gets the number of results on the leaderboard.
+     *
+     * @return The number of results.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns a page of the leaderboard.
+     *
+     * @param offset The number of best results to skip.
+     * @param limit  The maximum number of results to return.
+     * @return The results ranked from {@code offset} to {@code offset + limit}, best first, or fewer at the end of the
+     *         leaderboard.
+     * @throws IllegalArgumentException If the offset or the limit is negative.
+     */
+    public List<OnePlayerGameResult> page(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative: " + offset + ", " + limit);
+        }
+        List<OnePlayerGameResult> page = new ArrayList<>(Math.min(limit, Math.max(0, entries.size() - offset)));
+        Iterator<Entry> iterator = entries.iterator();
+        for (var i = 0; i < offset && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next().result());
+        }
+        return page;
+    }
+
+    /**
+     * Returns the best results of the leaderboard.
+     *
+     * @param k The maximum number of results to return.
+     * @return The {@code k} best results, best first, or all the results if there are fewer.
+     */
+    public List<OnePlayerGameResult> top(int k) {
+        return page(0, k);
+    }
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Provides the persistence of the results of the games.
+ * <p>
+ * {@link puzzle.results.GameResultStore} keeps the results in an append-only log of JSON Lines, queuing the results
+ * added and writing them in batches on a background thread, so the JavaFX application thread never waits for the
+ * disk. The results are ranked by {@link puzzle.results.Leaderboard}, a sorted index from which the best results are
+ * read without sorting all of them.
+ * </p>
+ */
+package puzzle.results;
@@ -0,0 +1,134 @@
+package puzzle.solver;
+
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * A* search guided by the {@link BishopDistanceHeuristic}.
+ * <p>
+ * Layouts are identified by their {@linkplain PuzzleConfig#key(long, long) keys}, so the search does not depend on
+ * the ranking of the layouts and also works on boards whose layouts do not fit into an array. As the heuristic is
+ * consistent, the first solved layout taken from the open list is reached by a shortest path.
+ * </p>
+ * <p>
+ * The levels reported to the {@link SolverMetrics} are the layers of nodes with equal cost plus estimate.
+ * </p>
+ */
+public class AStarSearch implements PuzzleSolver {
+
+    /**
+     * The estimated number of bytes of an entry of the map of the best costs: the entry, the boxed key and value, and
+     * the slot of the table.
+     */
+    private static final int ENTRY_BYTES = 72;
+
+    /**
+     * The estimated number of bytes of a node and its slot in the open list.
+     */
+    private static final int NODE_BYTES = 56;
+
+    /**
+     * A node of the search tree.
+     *
+     * @param black  The bitmask of the black bishops.
+     * @param white  The bitmask of the white bishops.
+     * @param cost   The number of moves from the start.
+     * @param f      The cost plus the estimate of the remaining moves.
+     * @param move   The encoded move leading to the node from its parent.
+     * @param parent The parent node, or {@code null} for the start.
+     */
+    private record Node(long black, long white, int cost, int f, int move, Node parent) {
+    }
+
+    @Override
+    public Optional<Solution> solve(PuzzleState start, SolverMetrics metrics) {
+        metrics.start(getClass().getSimpleName());
+        try {
+            return search(start, metrics);
+        } finally {
+            metrics.finish();
+        }
+    }
+
+    private Optional<Solution> search(PuzzleState start, SolverMetrics metrics) {
+        if (!Layouts.hasGoalBishops(start)) {
+            return Optional.empty();
+        }
+        PuzzleConfig config = start.getConfig();
+        BishopDistanceHeuristic heuristic = new BishopDistanceHeuristic(config);
+        int[] moves = new int[config.getMaxMoves()];
+        PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingInt(Node::f)
+                .thenComparing(Comparator.comparingInt(Node::cost).reversed()));
+        Map<Long, Integer> bestCost = new HashMap<>();
+
+        int estimate = heuristic.estimate(start);
+        if (estimate == BishopDistanceHeuristic.UNSOLVABLE) {
+            return Optional.empty();
+        }
+        open.add(new Node(start.getBlackMask(), start.getWhiteMask(), 0, estimate, -1, null));
+        bestCost.put(start.getKey(), 0);
+        int layer = estimate;
+        long nodes = 1;
+        long expanded = 0;
+        long generated = 0;
+        long duplicates = 0;
+        while (!open.isEmpty()) {
+            Node node = open.poll();
+            if (bestCost.get(config.key(node.black(), node.white())) < node.cost()) {
+                continue;
+            }
+            if (node.f() > layer) {
+                metrics.setMemoryBytes((long) ENTRY_BYTES * bestCost.size() + NODE_BYTES * nodes);
+                metrics.levelCompleted(expanded, generated, duplicates, open.size() + 1, bestCost.size());
+                layer = node.f();
+                expanded = 0;
+                generated = 0;
+                duplicates = 0;
+            }
+            if (node.black() == config.getGoalBlack() && node.white() == config.getGoalWhite()) {
+                metrics.levelCompleted(expanded, generated, duplicates, open.size(), bestCost.size());
+                return Optional.of(solution(start, node));
+            }
+            expanded++;
+            if ((expanded & SolverMetrics.PROGRESS_MASK) == 0) {
+                Layouts.checkInterrupted(metrics);
+                metrics.progress(expanded, open.size(), bestCost.size());
+            }
+            int count = PuzzleState.getLegalMoves(config, node.black(), node.white(), moves);
+            generated += count;
+            for (var i = 0; i < count; i++) {
+                long black = Layouts.apply(config, node.black(), moves[i]);
+                long white = Layouts.apply(config, node.white(), moves[i]);
+                int cost = node.cost() + 1;
+                Integer previous = bestCost.get(config.key(black, white));
+                if (previous != null && previous <= cost) {
+                    duplicates++;
+                    continue;
+                }
+                estimate = heuristic.estimate(black, white);
+                if (estimate != BishopDistanceHeuristic.UNSOLVABLE) {
+                    bestCost.put(config.key(black, white), cost);
+                    open.add(new Node(black, white, cost, cost + estimate, moves[i], node));
+                    nodes++;
+                }
+            }
+        }
+        metrics.levelCompleted(expanded, generated, duplicates, 0, bestCost.size());
+        return Optional.empty();
+    }
+
+    private static Solution solution(PuzzleState start, Node node) {
+        int[] moves = new int[node.cost()];
+        for (; node.parent() != null; node = node.parent()) {
+            moves[node.cost() - 1] = node.move();
+        }
+        return Layouts.solution(start, moves, moves.length);
+    }
+
+}
@@ -0,0 +1,164 @@
+package puzzle.solver;
+
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * Bidirectional breadth-first search over the ranked layouts of the board.
+ * <p>
+ * The search grows two frontiers level by level, one forward from the start and one backward from the solved layout,
+ * always expanding the smaller one, and stops when a layout reached by one of them has already been visited by the
+ * other. The backward frontier is expanded with {@link PuzzleState#getPredecessorMoves(PuzzleConfig, long, long, int[])}, since
+ * the moves of the puzzle cannot always be reversed.
+ * </p>
+ * <p>
+ * As whole levels are expanded at a time, the first layout visited from both directions lies on a shortest path, so
+ * the solution is optimal, while the frontiers stay much narrower than the single frontier of a breadth-first search.
+ * </p>
+ */
+public class BidirectionalBreadthFirstSearch implements PuzzleSolver {
+
+    @Override
+    public Optional<Solution> solve(PuzzleState start, SolverMetrics metrics) {
+        metrics.start(getClass().getSimpleName());
+        try {
+            return search(start, metrics);
+        } finally {
+            metrics.finish();
+        }
+    }
+
+    private Optional<Solution> search(PuzzleState start, SolverMetrics metrics) {
+        LayoutRanker ranker = Layouts.ranker(start);
+        int startRank = (int) ranker.rank(start);
+        int goalRank = Layouts.goalRank(ranker);
+        if (goalRank == -1) {
+            return Optional.empty();
+        }
+        Side forward = new Side(ranker, startRank, false);
+        Side backward = new Side(ranker, goalRank, true);
+        metrics.setMemoryBytes(2 * ((long) Integer.BYTES * ranker.intSize() + ranker.intSize() / Byte.SIZE));
+        int meeting = startRank == goalRank ? startRank : -1;
+        while (meeting == -1 && forward.size > 0 && backward.size > 0) {
+            Side side = forward.size <= backward.size ? forward : backward;
+            long expanded = side.size;
+            meeting = side.expand(side == forward ? backward : forward, metrics);
+            metrics.levelCompleted(expanded, side.generated, side.duplicates, forward.size + backward.size,
+                    forward.visitedCount + backward.visitedCount);
+        }
+        if (meeting == -1) {
+            return Optional.empty();
+        }
+        int[] head = Layouts.path(forward.parent, meeting);
+        int[] tail = Layouts.path(backward.parent, meeting);
+        int[] ranks = Arrays.copyOf(head, head.length + tail.length - 1);
+        for (var i = 1; i < tail.length; i++) {
+            ranks[head.length - 1 + i] = tail[tail.length - 1 - i];
+        }
+        return Optional.of(Layouts.solution(ranker, ranks));
+    }
+
+    /**
+     * One direction of the search.
+     */
+    private static class Side {
+
+        private final LayoutRanker ranker;
+
+        private final PuzzleConfig config;
+
+        private final boolean backward;
+
+        private final BitSet visited;
+
+        private final int[] parent;
+
+        private final int[] moves;
+
+        private int[] frontier = new int[16];
+
+        private int size;
+
+        private long visitedCount;
+
+        /**
+         * The number of layouts generated by the last expansion.
+         */
+        private long generated;
+
+        /**
+         * The number of layouts generated by the last expansion which had already been visited.
+         */
+        private long duplicates;
+
+        Side(LayoutRanker ranker, int root, boolean backward) {
+            this.ranker = ranker;
+            this.backward = backward;
+            config = ranker.getConfig();
+            moves = new int[config.getMaxMoves()];
+            visited = new BitSet(ranker.intSize());
+            parent = new int[ranker.intSize()];
+            visited.set(root);
+            visitedCount = 1;
+            parent[root] = -1;
+            frontier[size++] = root;
+        }
+
+        /**
+         * Expands the whole frontier by one level.
+         *
+         * @param other   The other direction of the search.
+         * @param metrics The metrics to report the progress of the expansion to.
+         * @return The rank of a layout visited by both directions, or -1 if there is none yet.
+         */
+        int expand(Side other, SolverMetrics metrics) {
+            int[] next = new int[Math.max(16, size * 2)];
+            var nextSize = 0;
+            generated = 0;
+            duplicates = 0;
+            for (var i = 0; i < size; i++) {
+                int rank = frontier[i];
+                if (((i + 1) & SolverMetrics.PROGRESS_MASK) == 0) {
+                    Layouts.checkInterrupted(metrics);
+                    metrics.progress(i + 1, size - i - 1 + nextSize + other.size, visitedCount + other.visitedCount);
+                }
+                long black = ranker.unrankBlack(rank);
+                long white = ranker.unrankWhite(rank);
+                int count = backward
+                        ? PuzzleState.getPredecessorMoves(config, black, white, moves)
+                        : PuzzleState.getLegalMoves(config, black, white, moves);
+                generated += count;
+                for (var j = 0; j < count; j++) {
+                    int child = backward
+                            ? (int) ranker.rank(Layouts.unapply(config, black, moves[j]),
+                                    Layouts.unapply(config, white, moves[j]))
+                            : (int) ranker.rank(Layouts.apply(config, black, moves[j]),
+                                    Layouts.apply(config, white, moves[j]));
+                    if (!visited.get(child)) {
+                        visited.set(child);
+                        visitedCount++;
+                        parent[child] = rank;
+                        if (other.visited.get(child)) {
+                            return child;
+                        }
+                        if (nextSize == next.length) {
+                            next = Arrays.copyOf(next, nextSize * 2);
+                        }
+                        next[nextSize++] = child;
+                    } else {
+                        duplicates++;
+                    }
+                }
+            }
+            frontier = next;
+            size = nextSize;
+            return -1;
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package puzzle.solver;
+
+import puzzle.model.BishopMoves;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.Arrays;
+
+/**
+ * Admissible heuristic estimating the number of moves needed to solve the puzzle.
+ * <p>
+ * The number of bishop moves between any two squares of an empty board is precomputed. The estimate of a layout is the
+ * sum, over all the bishops, of the distance from the bishop to the nearest goal square of its color. Every move
+ * changes the distance of a single bishop by at most one, and bishops on the board can only slow each other down, so
+ * the estimate never exceeds the real number of moves and is consistent.
+ * </p>
+ */
+public final class BishopDistanceHeuristic {
+
+    /**
+     * The estimate of layouts from which the puzzle cannot be solved, as some bishop cannot reach any goal square of its
+     * color.
+     */
+    public static final int UNSOLVABLE = Integer.MAX_VALUE;
+
+    private static final int UNREACHABLE = Integer.MAX_VALUE / 2;
+
+    /**
+     * The distance of every square to the nearest goal square of the black bishops.
+     */
+    private final int[] blackDistance;
+
+    /**
+     * The distance of every square to the nearest goal square of the white bishops.
+     */
+    private final int[] whiteDistance;
+
+    /**
+     * Constructs the heuristic of the standard board and goal.
+     */
+    public BishopDistanceHeuristic() {
+        this(PuzzleConfig.STANDARD);
+    }
+
+    /**
+     * Constructs the heuristic of the board and goal of the specified puzzle.
+     *
+     * @param config The configuration of the puzzle.
+     */
+    public BishopDistanceHeuristic(PuzzleConfig config) {
+        BishopMoves moves = config.getBishopMoves();
+        blackDistance = distances(moves, config.getGoalBlack());
+        whiteDistance = distances(moves, config.getGoalWhite());
+    }
+
+    /**
+     * Computes the distance of every square to the nearest of the target squares by a breadth-first search on the
+     * empty board.
+     */
+    private static int[] distances(BishopMoves moves, long targets) {
+        int[] distance = new int[moves.getSquares()];
+        Arrays.fill(distance, UNREACHABLE);
+        long reached = targets;
+        long level = targets;
+        for (var d = 0; level != 0; d++) {
+            long next = 0;
+            for (; level != 0; level &= level - 1) {
+                int square = Long.numberOfTrailingZeros(level);
+                distance[square] = d;
+                next |= moves.attacks(square, 0L);
+            }
+            level = next & ~reached;
+            reached |= next;
+        }
+        return distance;
+    }
+
+    /**
+     * Estimates the number of moves needed to solve the puzzle from the specified layout.
+     *
+     * @param black The bitmask of the black bishops.
+     * @param white The bitmask of the white bishops.
+     * @return The estimate, or {@link #UNSOLVABLE} if some bishop cannot reach any goal square of its color.
+     */
+    public int estimate(long black, long white) {
+        var estimate = 0;
+        for (; black != 0; black &= black - 1) {
+            int distance = blackDistance[Long.numberOfTrailingZeros(black)];
+            if (distance == UNREACHABLE) {
+                return UNSOLVABLE;
+            }
+            estimate += distance;
+        }
+        for (; white != 0; white &= white - 1) {
+            int distance = whiteDistance[Long.numberOfTrailingZeros(white)];
+            if (distance == UNREACHABLE) {
+                return UNSOLVABLE;
+            }
+            estimate += distance;
+        }
+        return estimate;
+    }
+
+    /**
+     * Estimates the number of moves needed to solve the puzzle from the specified state.
+     *
+     * @param state The state.
+     * @return The estimate, or {@link #UNSOLVABLE} if some bishop cannot reach any goal square of its color.
+     */
+    public int estimate(PuzzleState state) {
+        return estimate(state.getBlackMask(), state.getWhiteMask());
+    }
+
+}
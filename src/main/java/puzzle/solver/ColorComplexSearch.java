@@ -0,0 +1,101 @@
+package puzzle.solver;
+
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+import puzzle.model.LayoutRanker;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Search solving the puzzle on the light and the dark squares of the board independently.
+ * <p>
+ * A bishop never leaves the color of its square, and its diagonals, and therefore the squares it attacks and the
+ * bishops blocking it, are all of the same color. A move on one color complex is thus neither enabled nor prevented
+ * by the bishops on the other, and the puzzle falls apart into two independent puzzles, one on each complex. Every
+ * solution is an interleaving of solutions of the two, so the shortest solution is a shortest solution of one complex
+ * followed by a shortest solution of the other.
+ * </p>
+ * <p>
+ * Each subproblem has only the bishops and the squares of its complex, so its layouts, ranked among the squares of the
+ * complex only, are far fewer than the product of both, which the other searches explore. Subproblems whose layouts
+ * fit into {@value #MAX_RANKED_LAYOUTS} ranks are solved by {@link CompactBreadthFirstSearch}, larger ones by
+ * {@link AStarSearch}. The levels reported to the
+ * {@link SolverMetrics} are the subproblems.
+ * </p>
+ */
+public class ColorComplexSearch implements PuzzleSolver {
+
+    /**
+     * The largest number of layouts of a subproblem solved by a breadth-first search over ranked layouts.
+     */
+    public static final long MAX_RANKED_LAYOUTS = 1L << 26;
+
+    @Override
+    public Optional<Solution> solve(PuzzleState start, SolverMetrics metrics) {
+        metrics.start(getClass().getSimpleName());
+        try {
+            return search(start, metrics);
+        } finally {
+            metrics.finish();
+        }
+    }
+
+    private Optional<Solution> search(PuzzleState start, SolverMetrics metrics) {
+        PuzzleConfig config = start.getConfig();
+        List<TwoPhaseMove<Position>> moves = new ArrayList<>();
+        long memory = 0;
+        long visited = 0;
+        for (var parity = 0; parity < 2; parity++) {
+            long complex = complexMask(config, parity);
+            long black = start.getBlackMask() & complex;
+            long white = start.getWhiteMask() & complex;
+            long goalBlack = config.getGoalBlack() & complex;
+            long goalWhite = config.getGoalWhite() & complex;
+            if (black == goalBlack && white == goalWhite) {
+                continue;
+            }
+            if (Long.bitCount(black) != Long.bitCount(goalBlack) || Long.bitCount(white) != Long.bitCount(goalWhite)) {
+                return Optional.empty();
+            }
+            PuzzleConfig subproblem = new PuzzleConfig(config.getRows(), config.getCols(), black, white, goalBlack,
+                    goalWhite);
+            LayoutRanker ranker = new LayoutRanker(subproblem, complex, Long.bitCount(black), Long.bitCount(white));
+            SolverMetrics subMetrics = new SolverMetrics();
+            Optional<Solution> solution = ranker.size() <= MAX_RANKED_LAYOUTS
+                    ? new CompactBreadthFirstSearch().solve(new PuzzleState(subproblem), ranker, subMetrics)
+                    : new AStarSearch().solve(new PuzzleState(subproblem), subMetrics);
+            visited += subMetrics.getVisitedSize();
+            metrics.levelCompleted(subMetrics.getNodesExpanded(), subMetrics.getNodesGenerated(),
+                    subMetrics.getDuplicatesPruned(), 0, visited);
+            memory = Math.max(memory, subMetrics.getMemoryBytes());
+            metrics.setMemoryBytes(memory);
+            if (solution.isEmpty()) {
+                return Optional.empty();
+            }
+            moves.addAll(solution.get().moves());
+        }
+        return Optional.of(new Solution(start, moves));
+    }
+
+    /**
+     * Returns the bitmask of the squares of one color complex of the board.
+     *
+     * @param config The configuration of the puzzle.
+     * @param parity The parity of the sum of the row and column indices of the squares.
+     * @return The bitmask of the squares.
+     */
+    static long complexMask(PuzzleConfig config, int parity) {
+        long mask = 0;
+        for (var square = 0; square < config.getSquares(); square++) {
+            if ((square / config.getCols() + square % config.getCols()) % 2 == parity) {
+                mask |= 1L << square;
+            }
+        }
+        return mask;
+    }
+
+}
@@ -0,0 +1,106 @@
+package puzzle.solver;
+
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * Breadth-first search over the ranked layouts of the board.
+ * <p>
+ * Instead of keeping search nodes as objects, the search works with the dense indices assigned to the layouts by
+ * {@link LayoutRanker}. The frontier is an {@code int[]} queue, the visited layouts are marked in a {@link BitSet}
+ * and the parent of every visited layout is recorded in an {@code int[]}, from which the optimal sequence of moves is
+ * reconstructed once the solved layout is reached.
+ * </p>
+ * <p>
+ * The bookkeeping takes {@code 8} bytes and one bit per layout of the board, allocated up front.
+ * </p>
+ */
+public class CompactBreadthFirstSearch implements PuzzleSolver {
+
+    @Override
+    public Optional<Solution> solve(PuzzleState start, SolverMetrics metrics) {
+        return solve(start, Layouts.ranker(start), metrics);
+    }
+
+    /**
+     * Finds a shortest solution among the layouts of the specified ranker, which may be restricted to the squares the
+     * bishops of the start can reach.
+     *
+     * @param start   The state to start from.
+     * @param ranker  The ranker of the layouts, bound to the configuration of the start, with as many bishops as it.
+     * @param metrics The metrics to record the progress of the search into, reset at the start of the search.
+     * @return A shortest solution, or an empty {@link Optional} if there is none among the ranked layouts.
+     */
+    Optional<Solution> solve(PuzzleState start, LayoutRanker ranker, SolverMetrics metrics) {
+        metrics.start(getClass().getSimpleName());
+        try {
+            return search(start, ranker, metrics);
+        } finally {
+            metrics.finish();
+        }
+    }
+
+    private Optional<Solution> search(PuzzleState start, LayoutRanker ranker, SolverMetrics metrics) {
+        PuzzleConfig config = start.getConfig();
+        int size = ranker.intSize();
+        BitSet visited = new BitSet(size);
+        int[] parent = new int[size];
+        int[] queue = new int[size];
+        int[] moves = new int[config.getMaxMoves()];
+        metrics.setMemoryBytes(2L * Integer.BYTES * size + size / Byte.SIZE);
+
+        int startRank = (int) ranker.rank(start);
+        int goalRank = Layouts.goalRank(ranker);
+        visited.set(startRank);
+        parent[startRank] = -1;
+        if (startRank == goalRank) {
+            return Optional.of(Layouts.solution(ranker, Layouts.path(parent, startRank)));
+        }
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startRank;
+        int levelStart = head;
+        int levelEnd = tail;
+        long generated = 0;
+        long duplicates = 0;
+        while (head < tail) {
+            int rank = queue[head++];
+            if ((head & SolverMetrics.PROGRESS_MASK) == 0) {
+                Layouts.checkInterrupted(metrics);
+                metrics.progress(head - levelStart, tail - head, tail);
+            }
+            long black = ranker.unrankBlack(rank);
+            long white = ranker.unrankWhite(rank);
+            int count = PuzzleState.getLegalMoves(config, black, white, moves);
+            for (var i = 0; i < count; i++) {
+                generated++;
+                int next = (int) ranker.rank(Layouts.apply(config, black, moves[i]),
+                        Layouts.apply(config, white, moves[i]));
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    parent[next] = rank;
+                    if (next == goalRank) {
+                        metrics.levelCompleted(head - levelStart, generated, duplicates, tail + 1 - head, tail + 1);
+                        return Optional.of(Layouts.solution(ranker, Layouts.path(parent, next)));
+                    }
+                    queue[tail++] = next;
+                } else {
+                    duplicates++;
+                }
+            }
+            if (head == levelEnd) {
+                metrics.levelCompleted(head - levelStart, generated, duplicates, tail - head, tail);
+                levelStart = head;
+                levelEnd = tail;
+                generated = 0;
+                duplicates = 0;
+            }
+        }
+        return Optional.empty();
+    }
+
+}
@@ -0,0 +1,266 @@
+package puzzle.solver;
+
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+import puzzle.model.LayoutRanker;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Table of the distance to the solved layout of every layout of the board.
+ * <p>
+ * The table is computed by a single breadth-first search running backward from the solved layout over
+ * {@link PuzzleState#getPredecessorMoves(PuzzleConfig, long, long, int[]) predecessor moves}, and stores one byte per
+ * {@linkplain LayoutRanker ranked} layout. Once it is computed, the distance of any layout, the best move from it and
+ * a whole optimal solution are answered by lookups without any further search.
+ * </p>
+ * <p>
+ * The distances are kept in a {@link ByteBuffer}, which is either a heap buffer of a freshly computed table or a
+ * memory-mapped file of a table stored by {@link DistanceTableFile}.
+ * </p>
+ */
+public class DistanceTable implements PuzzleSolver {
+
+    /**
+     * The distance of the layouts from which the puzzle cannot be solved.
+     */
+    public static final int UNSOLVABLE = -1;
+
+    /**
+     * The largest distance that can be stored in the table.
+     */
+    public static final int MAX_DISTANCE = 254;
+
+    /**
+     * The byte stored for the layouts from which the puzzle cannot be solved.
+     */
+    private static final byte UNKNOWN = (byte) 0xFF;
+
+    private final LayoutRanker ranker;
+
+    private final PuzzleConfig config;
+
+    private final ByteBuffer distances;
+
+    /**
+     * Constructs a distance table from its distances.
+     *
+     * @param ranker    The ranker of the layouts, bound to the configuration of the puzzle.
+     * @param distances The distances of the layouts, indexed by rank starting at position 0.
+     */
+    DistanceTable(LayoutRanker ranker, ByteBuffer distances) {
+        this.ranker = ranker;
+        this.distances = distances;
+        config = ranker.getConfig();
+    }
+
+    /**
+     * Computes the distance table of the standard board.
+     *
+     * @return The distance table.
+     * @throws IllegalStateException If some layout is farther from the solved layout than {@value #MAX_DISTANCE}.
+     */
+    public static DistanceTable compute() {
+        return compute(PuzzleConfig.STANDARD);
+    }
+
+    /**
+     * Computes the distance table of the board and goal of the specified puzzle.
+     *
+     * @param config The configuration of the puzzle.
+     * @return The distance table.
+     * @throws IllegalStateException If the layouts do not fit into an array, or some layout is farther from the solved
+     *                               layout than {@value #MAX_DISTANCE}.
+     */
+    public static DistanceTable compute(PuzzleConfig config) {
+        return compute(config, new SolverMetrics());
+    }
+
+    /**
+     * Computes the distance table of the board and goal of the specified puzzle, recording the progress of the
+     * backward search.
+     *
+     * @param config  The configuration of the puzzle.
+     * @param metrics The metrics to record the progress of the search into, reset at the start of the search.
+     * @return The distance table.
+     * @throws IllegalStateException If the layouts do not fit into an array, or some layout is farther from the solved
+     *                               layout than {@value #MAX_DISTANCE}.
+     */
+    public static DistanceTable compute(PuzzleConfig config, SolverMetrics metrics) {
+        metrics.start(DistanceTable.class.getSimpleName());
+        try {
+            return search(config, metrics);
+        } finally {
+            metrics.finish();
+        }
+    }
+
+    private static DistanceTable search(PuzzleConfig config, SolverMetrics metrics) {
+        LayoutRanker ranker = new LayoutRanker(config);
+        byte[] distances = new byte[ranker.intSize()];
+        Arrays.fill(distances, UNKNOWN);
+        int[] queue = new int[distances.length];
+        int[] moves = new int[config.getMaxMoves()];
+        metrics.setMemoryBytes((long) (1 + Integer.BYTES) * distances.length);
+
+        int goalRank = Layouts.goalRank(ranker);
+        distances[goalRank] = 0;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = goalRank;
+        int levelStart = head;
+        int levelEnd = tail;
+        long generated = 0;
+        long duplicates = 0;
+        while (head < tail) {
+            int rank = queue[head++];
+            if ((head & SolverMetrics.PROGRESS_MASK) == 0) {
+                Layouts.checkInterrupted(metrics);
+                metrics.progress(head - levelStart, tail - head, tail);
+            }
+            int distance = Byte.toUnsignedInt(distances[rank]) + 1;
+            long black = ranker.unrankBlack(rank);
+            long white = ranker.unrankWhite(rank);
+            int count = PuzzleState.getPredecessorMoves(config, black, white, moves);
+            generated += count;
+            for (var i = 0; i < count; i++) {
+                int previous = (int) ranker.rank(Layouts.unapply(config, black, moves[i]),
+                        Layouts.unapply(config, white, moves[i]));
+                if (distances[previous] == UNKNOWN) {
+                    if (distance > MAX_DISTANCE) {
+                        throw new IllegalStateException("Distance does not fit into the table: " + distance);
+                    }
+                    distances[previous] = (byte) distance;
+                    queue[tail++] = previous;
+                } else {
+                    duplicates++;
+                }
+            }
+            if (head == levelEnd) {
+                metrics.levelCompleted(head - levelStart, generated, duplicates, tail - head, tail);
+                levelStart = head;
+                levelEnd = tail;
+                generated = 0;
+                duplicates = 0;
+            }
+        }
+        return new DistanceTable(ranker, ByteBuffer.wrap(distances));
+    }
+
+    /**
+     * Gets the configuration of the puzzle of the table.
+     *
+     * @return The configuration of the puzzle.
+     */
+    public PuzzleConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Gets the ranker of the layouts of the table.
+     *
+     * @return The ranker of the layouts.
+     */
+    public LayoutRanker getRanker() {
+        return ranker;
+    }
+
+    /**
+     * Gets a read-only view of the distances of the table.
+     *
+     * @return The distances of the layouts, indexed by rank.
+     */
+    ByteBuffer getDistances() {
+        return distances.asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets the number of moves needed to solve the puzzle from the specified state.
+     *
+     * @param state The state.
+     * @return The number of moves, or {@link #UNSOLVABLE} if the puzzle cannot be solved from the state.
+     * @throws IllegalArgumentException If the state belongs to a puzzle with a different board or goal.
+     */
+    public int distance(PuzzleState state) {
+        if (!config.hasSameGoal(state.getConfig())) {
+            throw new IllegalArgumentException("State of a different puzzle: " + state.getConfig());
+        }
+        if (Long.bitCount(state.getBlackMask()) != ranker.getBlackCount()
+                || Long.bitCount(state.getWhiteMask()) != ranker.getWhiteCount()) {
+            return UNSOLVABLE;
+        }
+        return distance(state.getBlackMask(), state.getWhiteMask());
+    }
+
+    private int distance(long black, long white) {
+        byte distance = distances.get((int) ranker.rank(black, white));
+        return distance == UNKNOWN ? UNSOLVABLE : Byte.toUnsignedInt(distance);
+    }
+
+    /**
+     * Returns a legal move of the specified state that leads one move closer to the solved layout.
+     *
+     * @param state The state.
+     * @return The best move, or an empty {@link Optional} if the puzzle is solved or cannot be solved from the state.
+     */
+    public Optional<TwoPhaseMove<Position>> bestMove(PuzzleState state) {
+        int distance = distance(state);
+        if (distance == UNSOLVABLE || distance == 0) {
+            return Optional.empty();
+        }
+        int move = bestMove(state.getBlackMask(), state.getWhiteMask(), distance, new int[config.getMaxMoves()]);
+        return Optional.of(new TwoPhaseMove<>(config.position(config.moveFrom(move)),
+                config.position(config.moveTo(move))));
+    }
+
+    private int bestMove(long black, long white, int distance, int[] moves) {
+        int count = PuzzleState.getLegalMoves(config, black, white, moves);
+        for (var i = 0; i < count; i++) {
+            if (distance(Layouts.apply(config, black, moves[i]), Layouts.apply(config, white, moves[i]))
+                    == distance - 1) {
+                return moves[i];
+            }
+        }
+        throw new IllegalStateException("Inconsistent distance table");
+    }
+
+    /**
+     * Returns an optimal solution from the specified state by following the best moves.
+     *
+     * @param start The state to start from.
+     * @return The optimal solution, or an empty {@link Optional} if the puzzle cannot be solved from the state.
+     */
+    @Override
+    public Optional<Solution> solve(PuzzleState start, SolverMetrics metrics) {
+        metrics.start(getClass().getSimpleName());
+        metrics.setMemoryBytes(distances.capacity());
+        try {
+            return follow(start, metrics);
+        } finally {
+            metrics.finish();
+        }
+    }
+
+    private Optional<Solution> follow(PuzzleState start, SolverMetrics metrics) {
+        int distance = distance(start);
+        if (distance == UNSOLVABLE) {
+            return Optional.empty();
+        }
+        int[] path = new int[distance];
+        int[] moves = new int[config.getMaxMoves()];
+        long black = start.getBlackMask();
+        long white = start.getWhiteMask();
+        for (var i = 0; i < distance; i++) {
+            path[i] = bestMove(black, white, distance - i, moves);
+            black = Layouts.apply(config, black, path[i]);
+            white = Layouts.apply(config, white, path[i]);
+            metrics.levelCompleted(1, 0, 0, 0, 0);
+        }
+        return Optional.of(Layouts.solution(start, path, distance));
+    }
+
+}
@@ -0,0 +1,261 @@
+package puzzle.solver;
+
+import org.tinylog.Logger;
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes {@link DistanceTable distance tables} in a versioned binary file format.
+ * <p>
+ * A file starts with a header of {@value #HEADER_SIZE} bytes, followed by the distances of the table, one byte per
+ * ranked layout. The header consists of the following big-endian fields:
+ * </p>
+ * <ul>
+ *     <li>the magic number {@code BSDT} and the version of the format,</li>
+ *     <li>the number of rows and columns of the board,</li>
+ *     <li>the number of black and white bishops,</li>
+ *     <li>the bitmasks of the black and white bishops of the solved layout,</li>
+ *     <li>the number of distances and their CRC-32 checksum.</li>
+ * </ul>
+ * <p>
+ * Tables are loaded by mapping the file into memory, so lookups are served from the page cache without copying the
+ * distances to the heap. Only the header is checked when a table is mapped, since computing the checksum would read
+ * every page of the file; the checksum is checked by {@link #verify(Path, PuzzleConfig)}, which {@link #main(String[])}
+ * runs on every file it writes.
+ * </p>
+ */
+public final class DistanceTableFile {
+
+    /**
+     * The magic number identifying distance table files, {@code BSDT} in ASCII.
+     */
+    public static final int MAGIC = 0x42534454;
+
+    /**
+     * The version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 64;
+
+    private DistanceTableFile() {
+    }
+
+    /**
+     * Writes a distance table to a file, replacing the file if it exists.
+     *
+     * @param table The distance table to write.
+     * @param path  The path of the file.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static void write(DistanceTable table, Path path) throws IOException {
+        ByteBuffer distances = table.getDistances();
+        LayoutRanker ranker = table.getRanker();
+        PuzzleConfig config = table.getConfig();
+        CRC32 checksum = new CRC32();
+        checksum.update(distances.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(config.getRows())
+                .putInt(config.getCols())
+                .putInt(ranker.getBlackCount())
+                .putInt(ranker.getWhiteCount())
+                .putLong(config.getGoalBlack())
+                .putLong(config.getGoalWhite())
+                .putLong(distances.remaining())
+                .putLong(checksum.getValue());
+        header.rewind();
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (distances.hasRemaining()) {
+                channel.write(distances);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a distance table of the standard board by mapping a file into memory.
+     *
+     * @param path The path of the file.
+     * @return The distance table.
+     * @throws IOException If an I/O error occurs, or the file is not a valid distance table of the standard board.
+     */
+    public static DistanceTable map(Path path) throws IOException {
+        return map(path, PuzzleConfig.STANDARD);
+    }
+
+    /**
+     * Loads a distance table of the board and goal of the specified puzzle by mapping a file into memory.
+     * <p>
+     * Only the header of the file is checked, the distances are not compared with the checksum.
+     * </p>
+     *
+     * @param path   The path of the file.
+     * @param config The configuration of the puzzle.
+     * @return The distance table.
+     * @throws IOException If an I/O error occurs, or the header is not a valid header of a distance table of the board
+     *                     and goal.
+     */
+    public static DistanceTable map(Path path, PuzzleConfig config) throws IOException {
+        return mapFile(path, config).table();
+    }
+
+    /**
+     * Checks that a file is a valid distance table of the board and goal of the specified puzzle, including the
+     * checksum of its distances. This reads the whole file.
+     *
+     * @param path   The path of the file.
+     * @param config The configuration of the puzzle.
+     * @throws IOException If an I/O error occurs, or the file is not a valid distance table of the board and goal.
+     */
+    public static void verify(Path path, PuzzleConfig config) throws IOException {
+        MappedTable mapped = mapFile(path, config);
+        CRC32 checksum = new CRC32();
+        checksum.update(mapped.table().getDistances());
+        if (checksum.getValue() != mapped.checksum()) {
+            throw new IOException("Corrupt distance table file: " + path);
+        }
+    }
+
+    /**
+     * A distance table mapped from a file, with the checksum stored in the header of the file.
+     */
+    private record MappedTable(DistanceTable table, long checksum) {
+    }
+
+    private static MappedTable mapFile(Path path, PuzzleConfig config) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_SIZE) {
+            throw new IOException("Truncated distance table file: " + path);
+        }
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a distance table file: " + path);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported distance table version " + version + ": " + path);
+        }
+        LayoutRanker ranker = new LayoutRanker(config);
+        if (buffer.getInt() != config.getRows() || buffer.getInt() != config.getCols()
+                || buffer.getInt() != ranker.getBlackCount() || buffer.getInt() != ranker.getWhiteCount()
+                || buffer.getLong() != config.getGoalBlack() || buffer.getLong() != config.getGoalWhite()) {
+            throw new IOException("Distance table of a different board: " + path);
+        }
+        long size = buffer.getLong();
+        long checksum = buffer.getLong();
+        if (size != ranker.size() || buffer.capacity() != HEADER_SIZE + size) {
+            throw new IOException("Distance table of unexpected size: " + path);
+        }
+        ByteBuffer distances = buffer.position(HEADER_SIZE).slice();
+        return new MappedTable(new DistanceTable(ranker, distances), checksum);
+    }
+
+    /**
+     * Loads a distance table of the standard board from a file, or computes it and stores it in the file if the file
+     * does not exist or cannot be loaded.
+     *
+     * @param path The path of the file.
+     * @return The distance table.
+     */
+    public static DistanceTable loadOrCompute(Path path) {
+        return loadOrCompute(path, PuzzleConfig.STANDARD);
+    }
+
+    /**
+     * Loads a distance table of the board and goal of the specified puzzle from a file, or computes it and stores it in
+     * the file if the file does not exist or cannot be loaded.
+     *
+     * @param path   The path of the file.
+     * @param config The configuration of the puzzle.
+     * @return The distance table.
+     * @throws IllegalStateException If the table cannot be computed, as the layouts do not fit into an array.
+     */
+    public static DistanceTable loadOrCompute(Path path, PuzzleConfig config) {
+        return loadOrCompute(path, config, new SolverMetrics());
+    }
+
+    /**
+     * Loads a distance table of the board and goal of the specified puzzle from a file, or computes it and stores it in
+     * the file if the file does not exist or cannot be loaded, recording the progress of the computation.
+     *
+     * @param path    The path of the file.
+     * @param config  The configuration of the puzzle.
+     * @param metrics The metrics to record the progress of the computation into.
+     * @return The distance table.
+     * @throws IllegalStateException If the table cannot be computed, as the layouts do not fit into an array.
+     */
+    public static DistanceTable loadOrCompute(Path path, PuzzleConfig config, SolverMetrics metrics) {
+        if (Files.exists(path)) {
+            try {
+                DistanceTable table = map(path, config);
+                Logger.info("Loaded distance table from {}", path);
+                return table;
+            } catch (IOException e) {
+                Logger.warn("Failed to load distance table: {}", e.getMessage());
+            }
+        }
+        DistanceTable table = DistanceTable.compute(config, metrics);
+        Logger.info("Computed distance table: {}", metrics);
+        try {
+            write(table, path);
+            Logger.info("Saved distance table to {}", path);
+        } catch (IOException e) {
+            Logger.error("Failed to save distance table: {}", e.getMessage());
+        }
+        return table;
+    }
+
+    /**
+     * Computes the distance table of the puzzle given by the {@value PuzzleConfig#SYSTEM_PROPERTY} system property, or
+     * of the standard puzzle, writes it to the file given as the last argument and verifies the file written. With the
+     * {@code --verify} option, only verifies the existing file.
+     *
+     * @param args The command line arguments.
+     * @throws IOException If an I/O error occurs, or the file is not a valid distance table of the puzzle.
+     */
+    public static void main(String[] args) throws IOException {
+        boolean verifyOnly = args.length == 2 && args[0].equals("--verify");
+        if (args.length != 1 && !verifyOnly) {
+            System.err.println("Usage: DistanceTableFile [--verify] <file>");
+            System.exit(1);
+        }
+        PuzzleConfig config = PuzzleConfig.fromSystemProperty();
+        Path path = Paths.get(args[args.length - 1]);
+        if (!verifyOnly) {
+            DistanceTable table = DistanceTable.compute(config);
+            write(table, path);
+            Logger.info("Saved distance table of {} layouts to {}", table.getRanker().size(), path);
+        }
+        verify(path, config);
+        Logger.info("Verified distance table {}", path);
+    }
+
+}
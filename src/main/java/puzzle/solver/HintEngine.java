@@ -0,0 +1,97 @@
+package puzzle.solver;
+
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.Optional;
+
+/**
+ * Answers hints for the layouts of a puzzle from its {@link DistanceTable}.
+ * <p>
+ * Every query is a handful of lookups in the table, one per legal move at most, so hints can be answered on every
+ * click without searching. The engine compares the progress of the player to an optimal game: a player who has made
+ * {@code m} moves and is {@code d} moves from the solved layout has wasted {@code m + d - D} moves, where {@code D}
+ * is the length of a shortest solution from the start of the puzzle.
+ * </p>
+ */
+public class HintEngine {
+
+    private final DistanceTable table;
+
+    private final PuzzleConfig config;
+
+    private final int optimalLength;
+
+    /**
+     * Constructs a hint engine of a puzzle.
+     *
+     * @param table  The distance table of the board and the goal of the puzzle.
+     * @param config The configuration of the puzzle, whose start the progress of the player is compared from.
+     * @throws IllegalArgumentException If the table belongs to a puzzle with a different board or goal.
+     */
+    public HintEngine(DistanceTable table, PuzzleConfig config) {
+        this.table = table;
+        this.config = config;
+        optimalLength = table.distance(new PuzzleState(config));
+    }
+
+    /**
+     * Gets the configuration of the puzzle.
+     *
+     * @return The configuration of the puzzle.
+     */
+    public PuzzleConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Gets the length of a shortest solution from the start of the puzzle.
+     *
+     * @return The number of moves, or {@link DistanceTable#UNSOLVABLE} if the puzzle cannot be solved.
+     */
+    public int getOptimalLength() {
+        return optimalLength;
+    }
+
+    /**
+     * Gets the number of moves needed to solve the puzzle from the specified state.
+     *
+     * @param state The state.
+     * @return The number of moves, or {@link DistanceTable#UNSOLVABLE} if the puzzle cannot be solved from the state.
+     * @throws IllegalArgumentException If the state belongs to a puzzle with a different board or goal.
+     */
+    public int distance(PuzzleState state) {
+        return table.distance(state);
+    }
+
+    /**
+     * Returns the best next move of the specified state, the legal move leading closest to the solved layout.
+     *
+     * @param state The state.
+     * @return The best move, or an empty {@link Optional} if the puzzle is solved or cannot be solved from the state.
+     * @throws IllegalArgumentException If the state belongs to a puzzle with a different board or goal.
+     */
+    public Optional<TwoPhaseMove<Position>> bestMove(PuzzleState state) {
+        return table.bestMove(state);
+    }
+
+    /**
+     * Gets the number of moves a player has wasted compared to an optimal game.
+     *
+     * @param state     The state reached by the player.
+     * @param movesMade The number of moves made by the player.
+     * @return The number of moves the shortest game through the state is longer than a shortest solution, or
+     *         {@link DistanceTable#UNSOLVABLE} if the puzzle cannot be solved from the state or from the start.
+     * @throws IllegalArgumentException If the state belongs to a puzzle with a different board or goal.
+     */
+    public int movesFromOptimal(PuzzleState state, int movesMade) {
+        int distance = distance(state);
+        if (distance == DistanceTable.UNSOLVABLE || optimalLength == DistanceTable.UNSOLVABLE) {
+            return DistanceTable.UNSOLVABLE;
+        }
+        return movesMade + distance - optimalLength;
+    }
+
+}
@@ -0,0 +1,271 @@
+package puzzle.solver;
+
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Iterative deepening A* search guided by the {@link BishopDistanceHeuristic}.
+ * <p>
+ * The search runs a series of depth-first searches, each one pruning the layouts whose cost plus estimate exceeds the
+ * current bound, and raising the bound to the smallest pruned value for the next iteration. Only the current path is
+ * kept in memory, so the memory used is proportional to the length of the solution rather than to the number of
+ * layouts. Layouts already on the current path are skipped, so the search does not run in cycles. The search makes
+ * and {@linkplain PuzzleState#unmakeMove(int, int) takes back} the moves on a single state, so it allocates nothing
+ * per node.
+ * </p>
+ * <p>
+ * Transpositions, layouts reached by different paths, are detected by a fixed-size transposition table indexed by the
+ * {@linkplain PuzzleState#getZobristHash() Zobrist hash} of the layouts. The table records the fewest moves with which
+ * a layout has been reached in the current iteration, and a layout reached again with at least as many moves is not
+ * searched again, as the earlier search of its subtree had at least as much of the bound left. When two layouts share
+ * an entry the later one replaces the earlier, so the table bounds the memory used but never prunes a layout
+ * wrongly.
+ * </p>
+ * <p>
+ * The levels reported to the {@link SolverMetrics} are the iterations of the search. As there is no visited set,
+ * the frontier reported is the length of the longest path of the iteration.
+ * </p>
+ */
+public class IterativeDeepeningAStarSearch implements PuzzleSolver {
+
+    /**
+     * The default number of entries of the transposition table.
+     */
+    public static final int DEFAULT_TABLE_SIZE = 1 << 18;
+
+    private static final int FOUND = -1;
+
+    private final int tableSize;
+
+    private SolverMetrics metrics;
+
+    private BishopDistanceHeuristic heuristic;
+
+    private PuzzleConfig config;
+
+    private PuzzleState goal;
+
+    /**
+     * The number of moves of the solution found.
+     */
+    private int length;
+
+    /**
+     * The encoded moves of the current path.
+     */
+    private int[] path;
+
+    /**
+     * The keys of the layouts of the current path, indexed by their distance from the start.
+     */
+    private long[] pathKeys;
+
+    /**
+     * The buffers of the legal moves, indexed by the distance from the start.
+     */
+    private int[][] buffers;
+
+    /**
+     * The number of states expanded in the current iteration.
+     */
+    private long expanded;
+
+    /**
+     * The number of states generated in the current iteration.
+     */
+    private long generated;
+
+    /**
+     * The number of generated states skipped in the current iteration, as they were already on the path or in the
+     * transposition table.
+     */
+    private long duplicates;
+
+    /**
+     * The length of the longest path of the current iteration.
+     */
+    private int maxDepth;
+
+    /**
+     * The bitmasks of the black bishops of the layouts in the transposition table.
+     */
+    private long[] tableBlack;
+
+    /**
+     * The bitmasks of the white bishops of the layouts in the transposition table.
+     */
+    private long[] tableWhite;
+
+    /**
+     * The fewest moves with which the layouts in the transposition table have been reached in the current iteration,
+     * or {@link Integer#MAX_VALUE} for the empty entries.
+     */
+    private int[] tableCost;
+
+    /**
+     * Constructs a search with a transposition table of {@value #DEFAULT_TABLE_SIZE} entries.
+     */
+    public IterativeDeepeningAStarSearch() {
+        this(DEFAULT_TABLE_SIZE);
+    }
+
+    /**
+     * Constructs a search with a transposition table of the specified number of entries.
+     *
+     * @param tableSize The number of entries of the transposition table, a power of two, or {@code 0} to search
+     *                  without a transposition table.
+     * @throws IllegalArgumentException If the number of entries is neither {@code 0} nor a power of two.
+     */
+    public IterativeDeepeningAStarSearch(int tableSize) {
+        if (tableSize < 0 || Integer.bitCount(tableSize) > 1) {
+            throw new IllegalArgumentException("Table size must be 0 or a power of two: " + tableSize);
+        }
+        this.tableSize = tableSize;
+    }
+
+    @Override
+    public Optional<Solution> solve(PuzzleState start, SolverMetrics metrics) {
+        metrics.start(getClass().getSimpleName());
+        try {
+            return search(start, metrics);
+        } finally {
+            metrics.finish();
+        }
+    }
+
+    private Optional<Solution> search(PuzzleState start, SolverMetrics metrics) {
+        if (!Layouts.hasGoalBishops(start)) {
+            return Optional.empty();
+        }
+        this.metrics = metrics;
+        config = start.getConfig();
+        heuristic = new BishopDistanceHeuristic(config);
+        goal = PuzzleState.goal(config);
+        path = new int[16];
+        pathKeys = new long[17];
+        buffers = new int[16][];
+        tableBlack = new long[tableSize];
+        tableWhite = new long[tableSize];
+        tableCost = new int[tableSize];
+        int bound = heuristic.estimate(start);
+        while (bound != BishopDistanceHeuristic.UNSOLVABLE) {
+            pathKeys[0] = start.getKey();
+            expanded = 0;
+            generated = 0;
+            duplicates = 0;
+            maxDepth = 0;
+            Arrays.fill(tableCost, Integer.MAX_VALUE);
+            record(start, 0);
+            int result = search(start.clone(), 0, bound);
+            metrics.setMemoryBytes((long) path.length * (Integer.BYTES + Long.BYTES)
+                    + (long) maxDepth * config.getMaxMoves() * Integer.BYTES
+                    + (long) tableSize * (2 * Long.BYTES + Integer.BYTES));
+            metrics.levelCompleted(expanded, generated, duplicates, maxDepth, 0);
+            if (result == FOUND) {
+                return Optional.of(Layouts.solution(start, path, length));
+            }
+            bound = result;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Searches depth-first from the specified state.
+     *
+     * @param state The current state, left unchanged unless a solution is found.
+     * @param cost  The number of moves from the start.
+     * @param bound The maximum cost plus estimate of the states to expand.
+     * @return {@link #FOUND} if a solution was found, otherwise the smallest cost plus estimate exceeding the bound, or
+     * {@link BishopDistanceHeuristic#UNSOLVABLE} if no state was pruned.
+     */
+    private int search(PuzzleState state, int cost, int bound) {
+        int estimate = heuristic.estimate(state);
+        if (estimate == BishopDistanceHeuristic.UNSOLVABLE) {
+            return estimate;
+        }
+        if (cost + estimate > bound) {
+            return cost + estimate;
+        }
+        if (state.equals(goal)) {
+            length = cost;
+            return FOUND;
+        }
+        ensureCapacity(cost + 1);
+        expanded++;
+        maxDepth = Math.max(maxDepth, cost + 1);
+        if ((expanded & SolverMetrics.PROGRESS_MASK) == 0) {
+            Layouts.checkInterrupted(metrics);
+            metrics.progress(expanded, maxDepth, 0);
+        }
+        int[] moves = buffers[cost];
+        int count = state.getLegalMoves(moves);
+        generated += count;
+        int min = BishopDistanceHeuristic.UNSOLVABLE;
+        for (var i = 0; i < count; i++) {
+            int from = config.moveFrom(moves[i]);
+            int to = config.moveTo(moves[i]);
+            state.makeMove(from, to);
+            if (isOnPath(state.getKey(), cost) || !record(state, cost + 1)) {
+                duplicates++;
+            } else {
+                path[cost] = moves[i];
+                pathKeys[cost + 1] = state.getKey();
+                int result = search(state, cost + 1, bound);
+                if (result == FOUND) {
+                    return FOUND;
+                }
+                min = Math.min(min, result);
+            }
+            state.unmakeMove(from, to);
+        }
+        return min;
+    }
+
+    private boolean isOnPath(long key, int cost) {
+        for (var i = cost; i >= 0; i--) {
+            if (pathKeys[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a layout in the transposition table, unless it has already been reached in the current iteration with
+     * at most the specified number of moves.
+     *
+     * @param state The state with the layout.
+     * @param cost  The number of moves from the start.
+     * @return {@code true} if the layout is to be searched, {@code false} if it is a transposition to prune.
+     */
+    private boolean record(PuzzleState state, int cost) {
+        if (tableSize == 0) {
+            return true;
+        }
+        int index = (int) state.getZobristHash() & (tableSize - 1);
+        long black = state.getBlackMask();
+        long white = state.getWhiteMask();
+        if (tableBlack[index] == black && tableWhite[index] == white && tableCost[index] <= cost) {
+            return false;
+        }
+        tableBlack[index] = black;
+        tableWhite[index] = white;
+        tableCost[index] = cost;
+        return true;
+    }
+
+    private void ensureCapacity(int length) {
+        if (length >= path.length) {
+            path = Arrays.copyOf(path, length * 2);
+            pathKeys = Arrays.copyOf(pathKeys, length * 2 + 1);
+            buffers = Arrays.copyOf(buffers, length * 2);
+        }
+        if (buffers[length - 1] == null) {
+            buffers[length - 1] = new int[config.getMaxMoves()];
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package puzzle.solver;
+
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+import puzzle.model.LayoutRanker;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Helper methods for the solvers working on the bitmasks of layouts.
+ */
+final class Layouts {
+
+    private Layouts() {
+    }
+
+    /**
+     * Applies a move to the bitmask of the bishops of one color.
+     *
+     * @param config  The configuration of the puzzle.
+     * @param bishops The bitmask of the bishops.
+     * @param move    The encoded move.
+     * @return The bitmask of the bishops after the move.
+     */
+    static long apply(PuzzleConfig config, long bishops, int move) {
+        long from = 1L << config.moveFrom(move);
+        return (bishops & from) != 0 ? bishops ^ from ^ (1L << config.moveTo(move)) : bishops;
+    }
+
+    /**
+     * Takes back a move on the bitmask of the bishops of one color.
+     *
+     * @param config  The configuration of the puzzle.
+     * @param bishops The bitmask of the bishops.
+     * @param move    The encoded move.
+     * @return The bitmask of the bishops before the move.
+     */
+    static long unapply(PuzzleConfig config, long bishops, int move) {
+        long to = 1L << config.moveTo(move);
+        return (bishops & to) != 0 ? bishops ^ to ^ (1L << config.moveFrom(move)) : bishops;
+    }
+
+    /**
+     * Returns the rank of the solved layout, or -1 if it has a different number of bishops than the ranked layouts.
+     *
+     * @param ranker The ranker of the layouts, bound to a puzzle configuration.
+     * @return The rank of the solved layout, or -1.
+     */
+    static int goalRank(LayoutRanker ranker) {
+        PuzzleState goal = PuzzleState.goal(ranker.getConfig());
+        if (Long.bitCount(goal.getBlackMask()) != ranker.getBlackCount()
+                || Long.bitCount(goal.getWhiteMask()) != ranker.getWhiteCount()) {
+            return -1;
+        }
+        return (int) ranker.rank(goal);
+    }
+
+    /**
+     * Creates a ranker of the layouts with the same number of bishops as the specified state.
+     *
+     * @param state The state.
+     * @return The ranker of the layouts.
+     */
+    static LayoutRanker ranker(PuzzleState state) {
+        return new LayoutRanker(state.getConfig(), Long.bitCount(state.getBlackMask()), Long.bitCount(state.getWhiteMask()));
+    }
+
+    /**
+     * Constructs a solution from the ranks of the layouts visited by it.
+     *
+     * @param ranker The ranker of the layouts.
+     * @param ranks  The ranks of the layouts, starting with the start layout.
+     * @return The solution.
+     */
+    static Solution solution(LayoutRanker ranker, int[] ranks) {
+        long[] blacks = new long[ranks.length];
+        long[] whites = new long[ranks.length];
+        for (var i = 0; i < ranks.length; i++) {
+            blacks[i] = ranker.unrankBlack(ranks[i]);
+            whites[i] = ranker.unrankWhite(ranks[i]);
+        }
+        return Solution.ofLayouts(ranker.getConfig(), blacks, whites);
+    }
+
+    /**
+     * Constructs a solution from its encoded moves.
+     *
+     * @param start  The state the solution starts from.
+     * @param moves  The encoded moves of the solution.
+     * @param length The number of moves.
+     * @return The solution.
+     */
+    static Solution solution(PuzzleState start, int[] moves, int length) {
+        PuzzleConfig config = start.getConfig();
+        List<TwoPhaseMove<Position>> solution = new ArrayList<>(length);
+        for (var i = 0; i < length; i++) {
+            solution.add(new TwoPhaseMove<>(config.position(config.moveFrom(moves[i])),
+                    config.position(config.moveTo(moves[i]))));
+        }
+        return new Solution(start, solution);
+    }
+
+    /**
+     * Abandons a search if the thread running it has been interrupted, e.g. as its request has been cancelled. The
+     * solvers call this every {@value SolverMetrics#PROGRESS_INTERVAL} expansions.
+     *
+     * @param metrics The metrics of the search.
+     * @throws CancellationException If the thread has been interrupted, whose interrupted status is cleared.
+     */
+    static void checkInterrupted(SolverMetrics metrics) {
+        if (Thread.interrupted()) {
+            throw new CancellationException(metrics.getSolver() + " cancelled");
+        }
+    }
+
+    /**
+     * Checks if the specified state has as many bishops of each color as the solved state.
+     *
+     * @param state The state.
+     * @return {@code true} if the number of bishops match, {@code false} otherwise.
+     */
+    static boolean hasGoalBishops(PuzzleState state) {
+        PuzzleConfig config = state.getConfig();
+        return Long.bitCount(state.getBlackMask()) == config.getBlackCount()
+                && Long.bitCount(state.getWhiteMask()) == config.getWhiteCount();
+    }
+
+    /**
+     * Returns the ranks of the layouts on the path to the specified layout, following the parent links.
+     *
+     * @param parent The parents of the layouts, the root of the path has the parent -1.
+     * @param rank   The rank of the last layout of the path.
+     * @return The ranks of the layouts, starting with the root.
+     */
+    static int[] path(int[] parent, int rank) {
+        var length = 0;
+        for (int r = rank; parent[r] != -1; r = parent[r]) {
+            length++;
+        }
+        int[] path = new int[length + 1];
+        int r = rank;
+        for (int i = length; i >= 0; i--) {
+            path[i] = r;
+            if (i > 0) {
+                r = parent[r];
+            }
+        }
+        return path;
+    }
+
+}
@@ -0,0 +1,271 @@
+package puzzle.solver;
+
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Level-synchronous parallel breadth-first search over the ranked layouts of the board.
+ * <p>
+ * Every level of the search is split into chunks which are expanded in parallel in a {@link ForkJoinPool}. A layout
+ * reached for the first time in a level is claimed with compare-and-set on its slot of the parent array, which holds
+ * the smallest index in the level of the layouts reaching it so far. Once the level is expanded, each layout is thus
+ * linked to the first of its parents in the order of the level, and the next level is built in the order the layouts
+ * were first reached in. This is the order of the queue of {@link CompactBreadthFirstSearch}, so both searches find
+ * the same solution.
+ * </p>
+ * <p>
+ * An interrupted search stops the chunks not started yet and is abandoned by a {@link CancellationException}, without
+ * waiting for the current level to complete.
+ * </p>
+ */
+public class ParallelBreadthFirstSearch implements PuzzleSolver {
+
+    /**
+     * The number of layouts of a level expanded by a single task.
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    /**
+     * The parent of a layout not reached yet, smaller than any claim of {@link #claim(int)}.
+     */
+    private static final int UNVISITED = Integer.MIN_VALUE;
+
+    private static final VarHandle PARENT = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final int parallelism;
+
+    /**
+     * Constructs a search using as many threads as there are available processors.
+     */
+    public ParallelBreadthFirstSearch() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a search using the specified number of threads.
+     *
+     * @param parallelism The number of threads.
+     * @throws IllegalArgumentException If the number of threads is not positive.
+     */
+    public ParallelBreadthFirstSearch(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public Optional<Solution> solve(PuzzleState start, SolverMetrics metrics) {
+        metrics.start(getClass().getSimpleName());
+        try {
+            return search(start, metrics);
+        } finally {
+            metrics.finish();
+        }
+    }
+
+    private Optional<Solution> search(PuzzleState start, SolverMetrics metrics) {
+        LayoutRanker ranker = Layouts.ranker(start);
+        int size = ranker.intSize();
+        int[] parent = new int[size];
+        Arrays.fill(parent, UNVISITED);
+        int startRank = (int) ranker.rank(start);
+        int goalRank = Layouts.goalRank(ranker);
+        parent[startRank] = -1;
+        metrics.setMemoryBytes((long) Integer.BYTES * size);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        try {
+            int[] level = {startRank};
+            long visitedCount = 1;
+            LongAdder generated = new LongAdder();
+            while (level.length > 0 && !isVisited(parent, goalRank)) {
+                int[] current = level;
+                int[][] chunks = new int[(current.length + CHUNK_SIZE - 1) / CHUNK_SIZE][];
+                run(pool, cancelled, metrics, chunks.length,
+                        chunk -> chunks[chunk] = expand(ranker, parent, generated, current, chunk));
+                run(pool, cancelled, metrics, chunks.length,
+                        chunk -> chunks[chunk] = link(parent, current, chunks[chunk]));
+                level = concat(chunks);
+                visitedCount += level.length;
+                long count = generated.sumThenReset();
+                metrics.levelCompleted(current.length, count, count - level.length, level.length, visitedCount);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        if (!isVisited(parent, goalRank)) {
+            return Optional.empty();
+        }
+        return Optional.of(Layouts.solution(ranker, Layouts.path(parent, goalRank)));
+    }
+
+    /**
+     * Runs a task for every chunk of a level in the pool and waits for them to complete.
+     *
+     * @throws CancellationException If interrupted while waiting, after stopping the pool.
+     */
+    private static void run(ForkJoinPool pool, AtomicBoolean cancelled, SolverMetrics metrics, int chunks,
+                            IntConsumer task) {
+        try {
+            pool.submit(new Chunks(cancelled, task, 0, chunks)).get();
+        } catch (InterruptedException e) {
+            cancelled.set(true);
+            pool.shutdownNow();
+            throw new CancellationException(metrics.getSolver() + " cancelled");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Expands a chunk of a level, claiming the layouts it reaches.
+     *
+     * @return The pairs of the layouts claimed and the index in the level of their parent, in the order the layouts
+     * were reached.
+     */
+    private static int[] expand(LayoutRanker ranker, int[] parent, LongAdder generated, int[] level, int chunk) {
+        PuzzleConfig config = ranker.getConfig();
+        int[] moves = new int[config.getMaxMoves()];
+        int from = chunk * CHUNK_SIZE;
+        int to = Math.min(level.length, from + CHUNK_SIZE);
+        int[] claims = new int[4 * (to - from)];
+        var size = 0;
+        long count = 0;
+        for (var i = from; i < to; i++) {
+            int rank = level[i];
+            long black = ranker.unrankBlack(rank);
+            long white = ranker.unrankWhite(rank);
+            int moveCount = PuzzleState.getLegalMoves(config, black, white, moves);
+            count += moveCount;
+            for (var j = 0; j < moveCount; j++) {
+                int child = (int) ranker.rank(Layouts.apply(config, black, moves[j]),
+                        Layouts.apply(config, white, moves[j]));
+                if (claim(parent, child, claim(i))) {
+                    if (size == claims.length) {
+                        claims = Arrays.copyOf(claims, size * 2);
+                    }
+                    claims[size++] = child;
+                    claims[size++] = i;
+                }
+            }
+        }
+        generated.add(count);
+        return Arrays.copyOf(claims, size);
+    }
+
+    /**
+     * Links the layouts of the claims of a chunk which are kept by it to their parents, once the whole level has
+     * been expanded.
+     *
+     * @return The layouts linked, in the order they were reached.
+     */
+    private static int[] link(int[] parent, int[] level, int[] claims) {
+        int[] next = new int[claims.length / 2];
+        var size = 0;
+        for (var k = 0; k < claims.length; k += 2) {
+            int child = claims[k];
+            int index = claims[k + 1];
+            if (parent[child] == claim(index)) {
+                parent[child] = level[index];
+                next[size++] = child;
+            }
+        }
+        return Arrays.copyOf(next, size);
+    }
+
+    /**
+     * Returns the value of the parent slot of a layout claimed by the layout at the specified index of the level,
+     * which is larger for smaller indices and smaller than -1, so it is never taken for a rank.
+     */
+    private static int claim(int index) {
+        return -2 - index;
+    }
+
+    /**
+     * Claims a layout for a parent, unless it has already been reached in an earlier level, or in this level by a
+     * parent earlier in the level.
+     *
+     * @return {@code true} if the layout was claimed, {@code false} otherwise.
+     */
+    private static boolean claim(int[] parent, int rank, int claim) {
+        int current;
+        do {
+            current = (int) PARENT.getVolatile(parent, rank);
+            if (current >= claim) {
+                return false;
+            }
+        } while (!PARENT.compareAndSet(parent, rank, current, claim));
+        return true;
+    }
+
+    private static boolean isVisited(int[] parent, int rank) {
+        return rank != -1 && parent[rank] != UNVISITED;
+    }
+
+    private static int[] concat(int[][] chunks) {
+        var length = 0;
+        for (int[] chunk : chunks) {
+            length += chunk.length;
+        }
+        int[] next = new int[length];
+        var offset = 0;
+        for (int[] chunk : chunks) {
+            System.arraycopy(chunk, 0, next, offset, chunk.length);
+            offset += chunk.length;
+        }
+        return next;
+    }
+
+    /**
+     * Runs a task for every chunk of a range, unless the search has been cancelled.
+     */
+    private static class Chunks extends RecursiveAction {
+
+        private final AtomicBoolean cancelled;
+
+        private final IntConsumer task;
+
+        private final int from;
+
+        private final int to;
+
+        Chunks(AtomicBoolean cancelled, IntConsumer task, int from, int to) {
+            this.cancelled = cancelled;
+            this.task = task;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled.get()) {
+                return;
+            }
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Chunks(cancelled, task, from, middle), new Chunks(cancelled, task, middle, to));
+            } else if (to > from) {
+                task.accept(from);
+            }
+        }
+    }
+
+}
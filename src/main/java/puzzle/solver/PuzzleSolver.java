@@ -0,0 +1,31 @@
+package puzzle.solver;
+
+import puzzle.model.PuzzleState;
+
+import java.util.Optional;
+
+/**
+ * A solver of the Bishop Swap Puzzle.
+ */
+public interface PuzzleSolver {
+
+    /**
+     * Searches for a shortest solution from the specified state.
+     *
+     * @param start The state to start from.
+     * @return The shortest solution, or an empty {@link Optional} if the puzzle cannot be solved from the state.
+     */
+    default Optional<Solution> solve(PuzzleState start) {
+        return solve(start, new SolverMetrics());
+    }
+
+    /**
+     * Searches for a shortest solution from the specified state, recording the progress of the search.
+     *
+     * @param start   The state to start from.
+     * @param metrics The metrics to record the progress of the search into, reset at the start of the search.
+     * @return The shortest solution, or an empty {@link Optional} if the puzzle cannot be solved from the state.
+     */
+    Optional<Solution> solve(PuzzleState start, SolverMetrics metrics);
+
+}
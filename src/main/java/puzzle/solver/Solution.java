@@ -0,0 +1,92 @@
+package puzzle.solver;
+
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a solution of the Bishop Swap Puzzle found by a solver.
+ *
+ * @param start The state the solution starts from.
+ * @param moves The moves leading from the start to the solved state.
+ */
+public record Solution(PuzzleState start, List<TwoPhaseMove<Position>> moves) {
+
+    /**
+     * Constructs a new Solution object.
+     *
+     * @param start The state the solution starts from.
+     * @param moves The moves leading from the start to the solved state.
+     */
+    public Solution {
+        start = start.clone();
+        moves = List.copyOf(moves);
+    }
+
+    /**
+     * Constructs a solution from the sequence of layouts visited by it, where consecutive layouts differ in a single
+     * move.
+     *
+     * @param config The configuration of the puzzle.
+     * @param blacks The bitmasks of the black bishops of the layouts, starting with the start layout.
+     * @param whites The bitmasks of the white bishops of the layouts, starting with the start layout.
+     * @return The solution.
+     */
+    static Solution ofLayouts(PuzzleConfig config, long[] blacks, long[] whites) {
+        List<TwoPhaseMove<Position>> moves = new ArrayList<>(blacks.length - 1);
+        for (var i = 1; i < blacks.length; i++) {
+            long before = blacks[i - 1] | whites[i - 1];
+            long after = blacks[i] | whites[i];
+            int from = Long.numberOfTrailingZeros(before & ~after);
+            int to = Long.numberOfTrailingZeros(after & ~before);
+            moves.add(new TwoPhaseMove<>(config.position(from), config.position(to)));
+        }
+        return new Solution(new PuzzleState(config, blacks[0], whites[0]), moves);
+    }
+
+    /**
+     * Gets the number of moves of the solution.
+     *
+     * @return The number of moves.
+     */
+    public int length() {
+        return moves.size();
+    }
+
+    /**
+     * Gets the states visited by the solution, starting with the start and ending with the solved state.
+     *
+     * @return The list of the states.
+     */
+    public List<PuzzleState> states() {
+        List<PuzzleState> states = new ArrayList<>(moves.size() + 1);
+        PuzzleState state = start.clone();
+        states.add(state.clone());
+        for (var move : moves) {
+            state.makeMove(move);
+            states.add(state.clone());
+        }
+        return states;
+    }
+
+    /**
+     * Returns a string representation of the solution, listing every move followed by the board it leads to.
+     *
+     * @return A string representation of the solution.
+     */
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        List<PuzzleState> states = states();
+        sb.append(states.get(0));
+        for (var i = 0; i < moves.size(); i++) {
+            sb.append(moves.get(i)).append(states.get(i + 1));
+        }
+        return sb.toString();
+    }
+
+}
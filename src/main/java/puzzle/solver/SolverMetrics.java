@@ -0,0 +1,280 @@
+package puzzle.solver;
+
+import org.tinylog.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Counters and timings of a search, filled in by the solvers level by level.
+ * <p>
+ * A solver reports every completed level of its search: a level of a breadth-first search, a layer of equal cost plus
+ * estimate of the A* search, or an iteration of the iterative deepening A* search. Counting is done by the solvers in
+ * local variables and only the totals of a level are reported, so the metrics add no measurable overhead to the
+ * searches. The metrics are written by the thread running the search and can be read concurrently by any other
+ * thread, e.g. through JMX after {@link #register(String) registering} them.
+ * </p>
+ * <p>
+ * Whenever a level completes and the progress interval has elapsed since the last report, the progress of the search
+ * is logged, so long searches on big boards can be followed without flooding the log on small ones. As a single level
+ * of a search on a big board may take much longer than the interval, the solvers also report their
+ * {@linkplain #progress(long, long, long) progress} within a level every {@value #PROGRESS_INTERVAL} expansions.
+ * </p>
+ */
+public final class SolverMetrics implements SolverMetricsMXBean {
+
+    /**
+     * The default interval between progress reports.
+     */
+    public static final Duration DEFAULT_PROGRESS_INTERVAL = Duration.ofSeconds(10);
+
+    /**
+     * The number of expansions between two reports of the progress within a level, a power of two.
+     */
+    static final int PROGRESS_INTERVAL = 1 << 12;
+
+    /**
+     * The mask of the number of expansions, which is zero when the progress within a level is to be reported.
+     */
+    static final int PROGRESS_MASK = PROGRESS_INTERVAL - 1;
+
+    private final long progressIntervalNanos;
+
+    private volatile String solver;
+
+    private volatile boolean running;
+
+    private volatile long startNanos;
+
+    private volatile long endNanos;
+
+    private volatile long lastLevelNanos;
+
+    private volatile long lastProgressNanos;
+
+    private volatile long nodesExpanded;
+
+    private volatile long nodesGenerated;
+
+    private volatile long duplicatesPruned;
+
+    private volatile long frontierSize;
+
+    private volatile long peakFrontierSize;
+
+    private volatile long visitedSize;
+
+    private volatile long memoryBytes;
+
+    private volatile long[] levelNanos = new long[0];
+
+    private ObjectName objectName;
+
+    /**
+     * Constructs metrics reporting progress every {@link #DEFAULT_PROGRESS_INTERVAL}.
+     */
+    public SolverMetrics() {
+        this(DEFAULT_PROGRESS_INTERVAL);
+    }
+
+    /**
+     * Constructs metrics reporting progress at the specified interval.
+     *
+     * @param progressInterval The minimum time between two progress reports.
+     */
+    public SolverMetrics(Duration progressInterval) {
+        progressIntervalNanos = progressInterval.toNanos();
+    }
+
+    /**
+     * Resets the metrics at the start of a search.
+     *
+     * @param solver The name of the solver.
+     */
+    void start(String solver) {
+        this.solver = solver;
+        nodesExpanded = 0;
+        nodesGenerated = 0;
+        duplicatesPruned = 0;
+        frontierSize = 0;
+        peakFrontierSize = 0;
+        visitedSize = 0;
+        memoryBytes = 0;
+        levelNanos = new long[0];
+        startNanos = System.nanoTime();
+        endNanos = 0;
+        lastLevelNanos = startNanos;
+        lastProgressNanos = startNanos;
+        running = true;
+    }
+
+    /**
+     * Records a completed level of the search.
+     *
+     * @param expanded   The number of layouts expanded in the level.
+     * @param generated  The number of layouts generated in the level.
+     * @param duplicates The number of generated layouts pruned as duplicates in the level.
+     * @param frontier   The number of layouts in the frontier after the level.
+     * @param visited    The number of layouts in the visited set after the level.
+     */
+    void levelCompleted(long expanded, long generated, long duplicates, long frontier, long visited) {
+        long now = System.nanoTime();
+        nodesExpanded += expanded;
+        nodesGenerated += generated;
+        duplicatesPruned += duplicates;
+        frontierSize = frontier;
+        peakFrontierSize = Math.max(peakFrontierSize, frontier);
+        visitedSize = visited;
+        long[] levels = Arrays.copyOf(levelNanos, levelNanos.length + 1);
+        levels[levels.length - 1] = now - lastLevelNanos;
+        levelNanos = levels;
+        lastLevelNanos = now;
+        logProgress(now, levels.length, nodesExpanded, frontier, visited);
+    }
+
+    /**
+     * Records the progress within the current level of the search, and logs it if the progress interval has elapsed
+     * since the last report. Solvers call this every {@value #PROGRESS_INTERVAL} expansions.
+     *
+     * @param expanded The number of layouts expanded in the current level so far.
+     * @param frontier The number of layouts in the frontier.
+     * @param visited  The number of layouts in the visited set.
+     */
+    void progress(long expanded, long frontier, long visited) {
+        frontierSize = frontier;
+        peakFrontierSize = Math.max(peakFrontierSize, frontier);
+        visitedSize = visited;
+        logProgress(System.nanoTime(), levelNanos.length + 1, nodesExpanded + expanded, frontier, visited);
+    }
+
+    private void logProgress(long now, int level, long expanded, long frontier, long visited) {
+        if (now - lastProgressNanos >= progressIntervalNanos) {
+            lastProgressNanos = now;
+            Logger.info("{} level {}: {} expanded, {} visited, frontier {}, {} MiB, {} s", solver, level, expanded,
+                    visited, frontier, memoryBytes >> 20, (now - startNanos) / 1_000_000_000L);
+        }
+    }
+
+    /**
+     * Sets the number of bytes of the bookkeeping of the search.
+     *
+     * @param bytes The number of bytes.
+     */
+    void setMemoryBytes(long bytes) {
+        memoryBytes = bytes;
+    }
+
+    /**
+     * Records the end of the search.
+     */
+    void finish() {
+        endNanos = System.nanoTime();
+        running = false;
+        Logger.debug("{} finished: {}", solver, this);
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server under the name
+     * {@code puzzle.solver:type=SolverMetrics,name=<name>}.
+     *
+     * @param name The name of the metrics.
+     * @throws JMException If the metrics cannot be registered, e.g. as the name is already taken.
+     */
+    public synchronized void register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("puzzle.solver:type=SolverMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        this.objectName = objectName;
+    }
+
+    /**
+     * Unregisters the metrics from the platform MBean server, if they have been registered.
+     *
+     * @throws JMException If the metrics cannot be unregistered.
+     */
+    public synchronized void unregister() throws JMException {
+        if (objectName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        }
+    }
+
+    @Override
+    public String getSolver() {
+        return solver;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    @Override
+    public long getNodesGenerated() {
+        return nodesGenerated;
+    }
+
+    @Override
+    public long getDuplicatesPruned() {
+        return duplicatesPruned;
+    }
+
+    @Override
+    public long getFrontierSize() {
+        return frontierSize;
+    }
+
+    @Override
+    public long getPeakFrontierSize() {
+        return peakFrontierSize;
+    }
+
+    @Override
+    public long getVisitedSize() {
+        return visitedSize;
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    @Override
+    public double getBytesPerState() {
+        long visited = visitedSize;
+        return visited == 0 ? 0 : (double) memoryBytes / visited;
+    }
+
+    @Override
+    public int getDepth() {
+        return levelNanos.length;
+    }
+
+    @Override
+    public long[] getLevelNanos() {
+        return levelNanos.clone();
+    }
+
+    @Override
+    public long getWallNanos() {
+        if (solver == null) {
+            return 0;
+        }
+        return (running ? System.nanoTime() : endNanos) - startNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d expanded, %d generated, %d duplicates, peak frontier %d, %d visited, "
+                        + "%.1f bytes/state, %d levels, %.3f ms", nodesExpanded, nodesGenerated, duplicatesPruned,
+                peakFrontierSize, visitedSize, getBytesPerState(), getDepth(), getWallNanos() / 1e6);
+    }
+
+}
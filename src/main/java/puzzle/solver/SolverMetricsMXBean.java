@@ -0,0 +1,100 @@
+package puzzle.solver;
+
+/**
+ * Management interface of {@link SolverMetrics}, exposing the counters of a search over JMX.
+ */
+public interface SolverMetricsMXBean {
+
+    /**
+     * Gets the name of the solver running or last run with the metrics.
+     *
+     * @return The name of the solver, or {@code null} if no search has been started.
+     */
+    String getSolver();
+
+    /**
+     * Checks if a search is running.
+     *
+     * @return {@code true} if a search has been started and not yet finished, {@code false} otherwise.
+     */
+    boolean isRunning();
+
+    /**
+     * Gets the number of layouts expanded, i.e., whose moves were generated.
+     *
+     * @return The number of expanded layouts.
+     */
+    long getNodesExpanded();
+
+    /**
+     * Gets the number of layouts generated by the moves of the expanded layouts.
+     *
+     * @return The number of generated layouts.
+     */
+    long getNodesGenerated();
+
+    /**
+     * Gets the number of generated layouts discarded as they had already been visited or were on the current path.
+     *
+     * @return The number of pruned duplicates.
+     */
+    long getDuplicatesPruned();
+
+    /**
+     * Gets the number of layouts in the frontier after the last completed level.
+     *
+     * @return The size of the frontier.
+     */
+    long getFrontierSize();
+
+    /**
+     * Gets the largest number of layouts in the frontier after any level.
+     *
+     * @return The peak size of the frontier.
+     */
+    long getPeakFrontierSize();
+
+    /**
+     * Gets the number of layouts in the visited set of the search.
+     *
+     * @return The size of the visited set.
+     */
+    long getVisitedSize();
+
+    /**
+     * Gets the number of bytes of the bookkeeping of the search, exact for the searches over ranked layouts and
+     * estimated for the others.
+     *
+     * @return The number of bytes.
+     */
+    long getMemoryBytes();
+
+    /**
+     * Gets the number of bytes of the bookkeeping of the search per visited layout.
+     *
+     * @return The number of bytes per visited layout.
+     */
+    double getBytesPerState();
+
+    /**
+     * Gets the number of levels completed by the search.
+     *
+     * @return The number of completed levels.
+     */
+    int getDepth();
+
+    /**
+     * Gets the wall time of every completed level in nanoseconds.
+     *
+     * @return The wall times of the levels, in the order they were completed.
+     */
+    long[] getLevelNanos();
+
+    /**
+     * Gets the wall time of the search in nanoseconds, up to now if the search is still running.
+     *
+     * @return The wall time of the search.
+     */
+    long getWallNanos();
+
+}
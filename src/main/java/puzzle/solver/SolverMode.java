@@ -0,0 +1,60 @@
+package puzzle.solver;
+
+import java.util.function.Supplier;
+
+/**
+ * The available modes of solving the Bishop Swap Puzzle.
+ */
+public enum SolverMode {
+
+    /**
+     * Breadth-first search from the start, see {@link CompactBreadthFirstSearch}.
+     */
+    BREADTH_FIRST(CompactBreadthFirstSearch::new),
+
+    /**
+     * Breadth-first search over the classes of symmetric layouts, see {@link SymmetricBreadthFirstSearch}.
+     */
+    SYMMETRIC_BREADTH_FIRST(SymmetricBreadthFirstSearch::new),
+
+    /**
+     * Breadth-first search expanding every level in parallel, see {@link ParallelBreadthFirstSearch}.
+     */
+    PARALLEL_BREADTH_FIRST(ParallelBreadthFirstSearch::new),
+
+    /**
+     * Breadth-first search from both the start and the solved state, see {@link BidirectionalBreadthFirstSearch}.
+     */
+    BIDIRECTIONAL(BidirectionalBreadthFirstSearch::new),
+
+    /**
+     * A* search, see {@link AStarSearch}.
+     */
+    A_STAR(AStarSearch::new),
+
+    /**
+     * Iterative deepening A* search, see {@link IterativeDeepeningAStarSearch}.
+     */
+    IDA_STAR(IterativeDeepeningAStarSearch::new),
+
+    /**
+     * Independent searches on the light and the dark squares, see {@link ColorComplexSearch}.
+     */
+    COLOR_COMPLEX(ColorComplexSearch::new);
+
+    private final Supplier<PuzzleSolver> factory;
+
+    SolverMode(Supplier<PuzzleSolver> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a new solver of this mode.
+     *
+     * @return The solver.
+     */
+    public PuzzleSolver createSolver() {
+        return factory.get();
+    }
+
+}
@@ -0,0 +1,249 @@
+package puzzle.solver;
+
+import org.tinylog.Logger;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import javax.management.JMException;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Solves puzzles on demand on a background thread.
+ * <p>
+ * Nothing is computed until the first request, so the service costs nothing at startup. Requests are run one at a
+ * time on a single daemon thread, and the solver of every board and goal, typically a {@link DistanceTable} loaded
+ * from or computed into a file, is created by the first request and kept for the later ones, which are then answered
+ * by lookups, as are the {@link #hintEngine(PuzzleConfig) hints}. The search of the solver is recorded into the
+ * {@link #getMetrics() metrics} of the service.
+ * </p>
+ * <p>
+ * Every request returns a {@link CompletableFuture} completed on the solver thread. Cancelling it removes a queued
+ * request, and interrupts a running one, which the solvers abandon within a few thousand expansions. A solver whose
+ * creation was cancelled is created again by the next request.
+ * </p>
+ */
+public class SolverService implements Closeable {
+
+    /**
+     * The largest number of layouts for which the default solver computes a distance table, larger puzzles are solved
+     * by A* search. Computing a table takes {@value #TABLE_BYTES_PER_LAYOUT} bytes per layout, so this is 80 MiB.
+     */
+    public static final long MAX_TABLE_SIZE = 1L << 24;
+
+    /**
+     * The number of bytes per layout taken by the computation of a distance table: the distance and the slot of the
+     * queue.
+     */
+    private static final int TABLE_BYTES_PER_LAYOUT = 1 + Integer.BYTES;
+
+    private static SolverService defaultService;
+
+    /**
+     * The board and the goal of a puzzle, which determine the solver.
+     */
+    private record Goal(int rows, int cols, long black, long white) {
+
+        Goal(PuzzleConfig config) {
+            this(config.getRows(), config.getCols(), config.getGoalBlack(), config.getGoalWhite());
+        }
+
+    }
+
+    private final BiFunction<PuzzleConfig, SolverMetrics, PuzzleSolver> factory;
+
+    private final SolverMetrics metrics = new SolverMetrics();
+
+    private final ExecutorService executor;
+
+    /**
+     * The solvers created so far, accessed by the solver thread only.
+     */
+    private final Map<Goal, PuzzleSolver> solvers = new HashMap<>();
+
+    /**
+     * The requests not completed yet.
+     */
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean closed;
+
+    /**
+     * Constructs a service solving by distance tables stored next to the working directory, or by A* search if the
+     * layouts exceed {@link #MAX_TABLE_SIZE} or computing their table would take more than half of the maximum heap.
+     */
+    public SolverService() {
+        this(SolverService::createSolver);
+    }
+
+    /**
+     * Constructs a service solving by the solvers of the specified factory.
+     *
+     * @param factory The factory creating the solver of a board and goal, recording its progress into the metrics.
+     */
+    public SolverService(BiFunction<PuzzleConfig, SolverMetrics, PuzzleSolver> factory) {
+        this.factory = factory;
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "puzzle-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the service shared by the screens of the application, with its metrics registered under the name
+     * {@code default}.
+     *
+     * @return The default service.
+     */
+    public static synchronized SolverService getDefault() {
+        if (defaultService == null) {
+            defaultService = new SolverService();
+            try {
+                defaultService.metrics.register("default");
+            } catch (JMException e) {
+                Logger.warn("Failed to register solver metrics: {}", e.getMessage());
+            }
+        }
+        return defaultService;
+    }
+
+    /**
+     * Closes the default service, if it has been created, cancelling its requests.
+     */
+    public static synchronized void closeDefault() {
+        if (defaultService != null) {
+            defaultService.close();
+            try {
+                defaultService.metrics.unregister();
+            } catch (JMException e) {
+                Logger.warn("Failed to unregister solver metrics: {}", e.getMessage());
+            }
+            defaultService = null;
+        }
+    }
+
+    /**
+     * Gets the metrics of the last search of the service.
+     *
+     * @return The metrics.
+     */
+    public SolverMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Requests a shortest solution from the specified state.
+     *
+     * @param start The state to start from, copied by this method.
+     * @return The future shortest solution, or an empty {@link Optional} if the puzzle cannot be solved from the state.
+     * @throws IllegalStateException If the service has been closed.
+     */
+    public CompletableFuture<Optional<Solution>> solve(PuzzleState start) {
+        PuzzleState state = start.clone();
+        return submit(state.getConfig(), solver -> solver.solve(state, metrics));
+    }
+
+    /**
+     * Requests a hint engine of a puzzle, backed by the distance table of the service, so that hints are answered
+     * without searching once the table is available.
+     *
+     * @param config The configuration of the puzzle.
+     * @return The future hint engine, completed exceptionally with an {@link IllegalStateException} if the service
+     *         does not solve the puzzle by a distance table.
+     * @throws IllegalStateException If the service has been closed.
+     */
+    public CompletableFuture<HintEngine> hintEngine(PuzzleConfig config) {
+        return submit(config, solver -> {
+            if (!(solver instanceof DistanceTable table)) {
+                throw new IllegalStateException("No distance table of the puzzle: " + config);
+            }
+            return new HintEngine(table, config);
+        });
+    }
+
+    /**
+     * Runs a query against the solver of a puzzle on the solver thread, creating the solver if needed.
+     *
+     * @param config The configuration of the puzzle.
+     * @param query  The query.
+     * @param <T>    The type of the result of the query.
+     * @return The future result of the query.
+     * @throws IllegalStateException If the service has been closed.
+     */
+    private <T> CompletableFuture<T> submit(PuzzleConfig config, Function<PuzzleSolver, T> query) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        pending.add(result);
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    result.complete(query.apply(solvers.computeIfAbsent(new Goal(config),
+                            goal -> factory.apply(config, metrics))));
+                } catch (RuntimeException | OutOfMemoryError e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(result);
+            throw new IllegalStateException("Solver service has been closed", e);
+        }
+        result.whenComplete((value, failure) -> {
+            pending.remove(result);
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Cancels the requests not completed yet and stops the solver thread.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        executor.shutdown();
+        for (CompletableFuture<?> request : pending) {
+            request.cancel(true);
+        }
+        executor.shutdownNow();
+    }
+
+    private static PuzzleSolver createSolver(PuzzleConfig config, SolverMetrics metrics) {
+        long size = config.getRanker().size();
+        if (size > MAX_TABLE_SIZE || size * TABLE_BYTES_PER_LAYOUT > Runtime.getRuntime().maxMemory() / 2) {
+            return new AStarSearch();
+        }
+        return DistanceTableFile.loadOrCompute(tablePath(config), config, metrics);
+    }
+
+    private static Path tablePath(PuzzleConfig config) {
+        if (config.hasSameGoal(PuzzleConfig.STANDARD)) {
+            return Paths.get("distance_table.bin");
+        }
+        return Paths.get(String.format("distance_table_%dx%d_%x_%x.bin", config.getRows(), config.getCols(),
+                config.getGoalBlack(), config.getGoalWhite()));
+    }
+
+}
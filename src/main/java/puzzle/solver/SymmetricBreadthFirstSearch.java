@@ -0,0 +1,155 @@
+package puzzle.solver;
+
+import puzzle.model.BoardSymmetry;
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Breadth-first search over the classes of symmetric layouts of the board.
+ * <p>
+ * The search works like {@link CompactBreadthFirstSearch}, but every layout is replaced by the canonical layout of its
+ * class, the one with the smallest rank among its images under the {@linkplain BoardSymmetry#ofGoal(PuzzleConfig)
+ * symmetries preserving the solved layout}, before it is looked up in the visited set. Symmetric layouts are at the
+ * same distance from the solved layout, so the search visits every class only once, which shrinks the explored space
+ * by up to the number of symmetries. On the standard board the reflection of the rows combined with swapping the
+ * colors preserves the solved layout, and so halves the explored space.
+ * </p>
+ * <p>
+ * The path found leads through canonical layouts, so the moves of the solution are recovered by following it from the
+ * start, choosing at every step a move to a layout of the next class on the path.
+ * </p>
+ */
+public class SymmetricBreadthFirstSearch implements PuzzleSolver {
+
+    @Override
+    public Optional<Solution> solve(PuzzleState start, SolverMetrics metrics) {
+        metrics.start(getClass().getSimpleName());
+        try {
+            return search(start, metrics);
+        } finally {
+            metrics.finish();
+        }
+    }
+
+    private Optional<Solution> search(PuzzleState start, SolverMetrics metrics) {
+        if (!Layouts.hasGoalBishops(start)) {
+            return Optional.empty();
+        }
+        PuzzleConfig config = start.getConfig();
+        List<BoardSymmetry> symmetries = BoardSymmetry.ofGoal(config);
+        LayoutRanker ranker = Layouts.ranker(start);
+        int size = ranker.intSize();
+        BitSet visited = new BitSet(size);
+        int[] parent = new int[size];
+        int[] queue = new int[size];
+        int[] moves = new int[config.getMaxMoves()];
+        metrics.setMemoryBytes(2L * Integer.BYTES * size + size / Byte.SIZE);
+
+        int startRank = canonicalRank(ranker, symmetries, start.getBlackMask(), start.getWhiteMask());
+        int goalRank = Layouts.goalRank(ranker);
+        visited.set(startRank);
+        parent[startRank] = -1;
+        if (startRank == goalRank) {
+            return Optional.of(solution(start, ranker, symmetries, Layouts.path(parent, startRank)));
+        }
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startRank;
+        int levelStart = head;
+        int levelEnd = tail;
+        long generated = 0;
+        long duplicates = 0;
+        while (head < tail) {
+            int rank = queue[head++];
+            if ((head & SolverMetrics.PROGRESS_MASK) == 0) {
+                Layouts.checkInterrupted(metrics);
+                metrics.progress(head - levelStart, tail - head, tail);
+            }
+            long black = ranker.unrankBlack(rank);
+            long white = ranker.unrankWhite(rank);
+            int count = PuzzleState.getLegalMoves(config, black, white, moves);
+            for (var i = 0; i < count; i++) {
+                generated++;
+                int next = canonicalRank(ranker, symmetries, Layouts.apply(config, black, moves[i]),
+                        Layouts.apply(config, white, moves[i]));
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    parent[next] = rank;
+                    if (next == goalRank) {
+                        metrics.levelCompleted(head - levelStart, generated, duplicates, tail + 1 - head, tail + 1);
+                        return Optional.of(solution(start, ranker, symmetries, Layouts.path(parent, next)));
+                    }
+                    queue[tail++] = next;
+                } else {
+                    duplicates++;
+                }
+            }
+            if (head == levelEnd) {
+                metrics.levelCompleted(head - levelStart, generated, duplicates, tail - head, tail);
+                levelStart = head;
+                levelEnd = tail;
+                generated = 0;
+                duplicates = 0;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the rank of the canonical layout of the class of a layout, the smallest rank among the layout and its
+     * images.
+     *
+     * @param ranker     The ranker of the layouts.
+     * @param symmetries The symmetries preserving the solved layout.
+     * @param black      The bitmask of the black bishops of the layout.
+     * @param white      The bitmask of the white bishops of the layout.
+     * @return The rank of the canonical layout.
+     */
+    private static int canonicalRank(LayoutRanker ranker, List<BoardSymmetry> symmetries, long black, long white) {
+        long rank = ranker.rank(black, white);
+        for (BoardSymmetry symmetry : symmetries) {
+            rank = Math.min(rank, ranker.rank(symmetry.black(black, white), symmetry.white(black, white)));
+        }
+        return (int) rank;
+    }
+
+    /**
+     * Constructs a solution from the start following a path of canonical layouts.
+     *
+     * @param start      The start state.
+     * @param ranker     The ranker of the layouts.
+     * @param symmetries The symmetries preserving the solved layout.
+     * @param path       The ranks of the canonical layouts of the path, starting with the class of the start.
+     * @return The solution.
+     */
+    private static Solution solution(PuzzleState start, LayoutRanker ranker, List<BoardSymmetry> symmetries,
+                                     int[] path) {
+        PuzzleConfig config = start.getConfig();
+        int[] moves = new int[config.getMaxMoves()];
+        int[] ranks = new int[path.length];
+        long black = start.getBlackMask();
+        long white = start.getWhiteMask();
+        ranks[0] = (int) ranker.rank(black, white);
+        for (var i = 1; i < path.length; i++) {
+            int count = PuzzleState.getLegalMoves(config, black, white, moves);
+            var j = 0;
+            while (canonicalRank(ranker, symmetries, Layouts.apply(config, black, moves[j]),
+                    Layouts.apply(config, white, moves[j])) != path[i]) {
+                j++;
+                if (j == count) {
+                    throw new AssertionError("No move to the next class of the path");
+                }
+            }
+            black = Layouts.apply(config, black, moves[j]);
+            white = Layouts.apply(config, white, moves[j]);
+            ranks[i] = (int) ranker.rank(black, white);
+        }
+        return Layouts.solution(ranker, ranks);
+    }
+
+}
@@ -0,0 +1,29 @@
+/**
+ * Provides the solvers of the Bishop Swap Puzzle.
+ * <p>
+ * The solvers work on the headless {@link puzzle.model.PuzzleState} and do not depend on JavaFX. Every solver
+ * implements {@link puzzle.solver.PuzzleSolver} and returns the shortest {@link puzzle.solver.Solution}, and can be
+ * selected by its {@link puzzle.solver.SolverMode}. {@link puzzle.solver.CompactBreadthFirstSearch} searches the
+ * ranked layouts of the board from the start, {@link puzzle.solver.ParallelBreadthFirstSearch} does the same on all
+ * the available processors, {@link puzzle.solver.SymmetricBreadthFirstSearch} searches only one layout of every class
+ * of symmetric layouts, and {@link puzzle.solver.BidirectionalBreadthFirstSearch} searches from both the start
+ * and the solved layout. {@link puzzle.solver.AStarSearch} and {@link puzzle.solver.IterativeDeepeningAStarSearch}
+ * are informed searches guided by the {@link puzzle.solver.BishopDistanceHeuristic}, the latter using memory only
+ * proportional to the length of the solution besides a fixed-size transposition table.
+ * {@link puzzle.solver.ColorComplexSearch} solves the puzzle on the light and the dark squares independently.
+ * {@link puzzle.solver.DistanceTable} stores the distance to the solved layout of every layout, computed once by a
+ * backward search, and answers best move queries by lookups. Tables are persisted and memory-mapped by
+ * {@link puzzle.solver.DistanceTableFile}. Every solver takes the board and the goal from the
+ * {@link puzzle.model.PuzzleConfig} of the start state. The searches over ranked layouts need the layouts to fit into
+ * an array, while the informed searches and the search on the color complexes also work on larger boards.
+ * {@link puzzle.solver.SolverService} runs the solvers on demand in the background and keeps the solver of every
+ * puzzle for later requests, and {@link puzzle.solver.HintEngine} answers the best next move from a distance table.
+ * </p>
+ * <p>
+ * The solvers report their progress to a {@link puzzle.solver.SolverMetrics}, which counts the expanded, generated and
+ * pruned states level by level, logs the progress of long searches periodically and can be registered as a JMX MBean.
+ * A search running on an interrupted thread is abandoned by a {@link java.util.concurrent.CancellationException},
+ * checked by the solvers every few thousand expansions.
+ * </p>
+ */
+package puzzle.solver;
@@ -0,0 +1,86 @@
+package puzzle;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import puzzle.model.PuzzleConfig;
+import puzzle.solver.SolverMode;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSolverTest {
+
+    private static final String SIX_BY_SIX =
+            "6x6 ..BB../....../....../....../....../..WW.. ..WW../....../....../....../....../..BB..";
+
+    @Test
+    void testSolveAll() throws Exception {
+        String input = String.join("\n",
+                "# catalog",
+                PuzzleConfig.STANDARD.toString(),
+                "",
+                SIX_BY_SIX,
+                "5x4 .B.B/..../..../..../.W.W .W../..../..../..../.B.B",
+                "not a configuration",
+                "4x4 B.../..../..../...W W.../..../..../...B");
+        StringWriter out = new StringWriter();
+        assertEquals(2, new BatchSolver(SolverMode.COLOR_COMPLEX, 3).solveAll(new StringReader(input), out));
+        Map<Integer, JsonNode> results = new HashMap<>();
+        ObjectMapper mapper = new ObjectMapper();
+        for (String line : out.toString().split("\n")) {
+            JsonNode result = mapper.readTree(line);
+            results.put(result.get("line").asInt(), result);
+        }
+        assertEquals(Set.of(2, 4, 5, 6, 7), results.keySet());
+
+        JsonNode standard = results.get(2);
+        assertEquals(PuzzleConfig.STANDARD.toString(), standard.get("config").asText());
+        assertEquals("ColorComplexSearch", standard.get("solver").asText());
+        assertTrue(standard.get("solvable").asBoolean());
+        assertEquals(18, standard.get("length").asInt());
+        assertEquals(18, standard.get("moves").size());
+        assertEquals(0, standard.get("moves").get(0).get("from").get(0).asInt());
+        assertTrue(standard.get("solveMillis").asDouble() >= 0);
+        assertEquals(12, results.get(4).get("length").asInt());
+        assertTrue(results.get(5).has("error"));
+        assertTrue(results.get(6).has("error"));
+        assertFalse(results.get(7).get("solvable").asBoolean());
+        assertFalse(results.get(7).has("moves"));
+    }
+
+    @Test
+    void testInterrupted() throws Exception {
+        String slow = PuzzleConfig.swap(8, 8, 0, 1, 2, 3, 4, 5).toString();
+        String input = String.join("\n", slow, slow, slow, slow);
+        StringWriter out = new StringWriter();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                new BatchSolver(SolverMode.IDA_STAR, 1).solveAll(new StringReader(input), out);
+            } catch (Exception e) {
+                failure.set(e);
+            }
+        });
+        caller.start();
+        Thread.sleep(200);
+        caller.interrupt();
+        caller.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(caller.isAlive());
+        assertInstanceOf(InterruptedException.class, failure.get());
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    void testInvalidThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchSolver(SolverMode.A_STAR, 0));
+    }
+
+}
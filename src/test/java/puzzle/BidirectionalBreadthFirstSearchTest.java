@@ -0,0 +1,34 @@
+package puzzle;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.PuzzleState;
+import puzzle.solver.PuzzleSolver;
+import puzzle.solver.Solution;
+import puzzle.solver.SolverMode;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BidirectionalBreadthFirstSearchTest {
+
+    private final PuzzleSolver bidirectionalSearch = SolverMode.BIDIRECTIONAL.createSolver();
+
+    @Test
+    void testSolve() {
+        Optional<Solution> solution = bidirectionalSearch.solve(new PuzzleState());
+        assertTrue(solution.isPresent());
+        assertEquals(18, solution.get().length());
+        SolverAssertions.assertValid(solution.get());
+    }
+
+    @Test
+    void testSolveSolved() {
+        assertEquals(0, bidirectionalSearch.solve(PuzzleState.goal()).orElseThrow().length());
+    }
+
+    @Test
+    void testMatchesBreadthFirstSearch() {
+        SolverAssertions.assertMatchesBreadthFirstSearch(bidirectionalSearch, SolverAssertions.STRIDE);
+    }
+}
@@ -0,0 +1,130 @@
+package puzzle;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.Bishop;
+import puzzle.model.BishopMoves;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BishopMovesTest {
+
+    private static final int ROWS = PuzzleConfig.STANDARD.getRows();
+
+    private static final int COLS = PuzzleConfig.STANDARD.getCols();
+
+    @Test
+    void testAttacks() {
+        BishopMoves moves = new BishopMoves(ROWS, COLS);
+        long corner = moves.attacks(0, 0L);
+        assertEquals(Set.of(new Position(1, 1), new Position(2, 2), new Position(3, 3)), positions(corner));
+
+        long blocked = moves.attacks(0, 1L << PuzzleConfig.STANDARD.square(new Position(2, 2)));
+        assertEquals(Set.of(new Position(1, 1), new Position(2, 2)), positions(blocked));
+    }
+
+    @Test
+    void testBoardSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BishopMoves(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new BishopMoves(9, 8));
+        assertThrows(IllegalArgumentException.class, () -> new BishopMoves(4, 1 << 30));
+        assertEquals(64, new BishopMoves(8, 8).getSquares());
+    }
+
+    @Test
+    void testLegalMovesMatchReferenceOnEveryReachableState() {
+        Set<PuzzleState> visited = new HashSet<>();
+        Deque<PuzzleState> queue = new ArrayDeque<>();
+        visited.add(new PuzzleState());
+        queue.add(new PuzzleState());
+        while (!queue.isEmpty()) {
+            PuzzleState state = queue.poll();
+            Set<TwoPhaseMoveState.TwoPhaseMove<Position>> legalMoves = state.getLegalMoves();
+            assertEquals(referenceLegalMoves(state), legalMoves, state::toString);
+            for (var move : legalMoves) {
+                assertTrue(state.isLegalMove(move));
+                PuzzleState next = state.clone();
+                next.makeMove(move);
+                if (visited.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+        assertTrue(visited.size() > 1);
+    }
+
+    private static Set<Position> positions(long squares) {
+        Set<Position> positions = new HashSet<>();
+        for (; squares != 0; squares &= squares - 1) {
+            positions.add(PuzzleConfig.STANDARD.position(Long.numberOfTrailingZeros(squares)));
+        }
+        return positions;
+    }
+
+    /**
+     * The original move generation of the puzzle, which walks the diagonals square by square.
+     */
+    private static Set<TwoPhaseMoveState.TwoPhaseMove<Position>> referenceLegalMoves(PuzzleState state) {
+        Bishop[][] board = new Bishop[ROWS][COLS];
+        for (var i = 0; i < ROWS; i++) {
+            for (var j = 0; j < COLS; j++) {
+                board[i][j] = state.getBishop(new Position(i, j));
+            }
+        }
+        Set<TwoPhaseMoveState.TwoPhaseMove<Position>> legalMoves = new HashSet<>();
+        for (var fromRow = 0; fromRow < ROWS; fromRow++) {
+            for (var fromCol = 0; fromCol < COLS; fromCol++) {
+                if (board[fromRow][fromCol] == Bishop.NONE) {
+                    continue;
+                }
+                for (var toRow = 0; toRow < ROWS; toRow++) {
+                    for (var toCol = 0; toCol < COLS; toCol++) {
+                        Position from = new Position(fromRow, fromCol);
+                        Position to = new Position(toRow, toCol);
+                        if (board[toRow][toCol] == Bishop.NONE && isBishopMove(board, from, to)
+                                && isMoveAllowedByOpposite(board, to, board[fromRow][fromCol])) {
+                            legalMoves.add(new TwoPhaseMoveState.TwoPhaseMove<>(from, to));
+                        }
+                    }
+                }
+            }
+        }
+        return legalMoves;
+    }
+
+    private static boolean isBishopMove(Bishop[][] board, Position from, Position to) {
+        var dx = Math.abs(to.row() - from.row());
+        var dy = Math.abs(to.col() - from.col());
+        if (dx != dy || dx == 0) {
+            return false;
+        }
+        int rowDirection = (to.row() - from.row()) > 0 ? 1 : -1;
+        int colDirection = (to.col() - from.col()) > 0 ? 1 : -1;
+        int currentRow = from.row() + rowDirection;
+        int currentCol = from.col() + colDirection;
+        while (currentRow != to.row() && currentCol != to.col()) {
+            if (board[currentRow][currentCol] != Bishop.NONE) {
+                return false;
+            }
+            currentRow += rowDirection;
+            currentCol += colDirection;
+        }
+        return true;
+    }
+
+    private static boolean isMoveAllowedByOpposite(Bishop[][] board, Position destination, Bishop movingBishop) {
+        Bishop oppositeBishop = (movingBishop == Bishop.BLACK) ? Bishop.WHITE : Bishop.BLACK;
+        for (var i = 0; i < ROWS; i++) {
+            for (var j = 0; j < COLS; j++) {
+                if (board[i][j] == oppositeBishop && isBishopMove(board, new Position(i, j), destination)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
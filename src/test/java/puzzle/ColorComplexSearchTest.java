@@ -0,0 +1,85 @@
+package puzzle;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+import puzzle.solver.ColorComplexSearch;
+import puzzle.solver.CompactBreadthFirstSearch;
+import puzzle.solver.Solution;
+import puzzle.solver.SolverMetrics;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColorComplexSearchTest {
+
+    private final ColorComplexSearch colorComplexSearch = new ColorComplexSearch();
+
+    private final CompactBreadthFirstSearch breadthFirstSearch = new CompactBreadthFirstSearch();
+
+    @Test
+    void testSolve() {
+        Optional<Solution> solution = colorComplexSearch.solve(new PuzzleState());
+        assertTrue(solution.isPresent());
+        assertEquals(18, solution.get().length());
+        SolverAssertions.assertValid(solution.get());
+        assertEquals(0, colorComplexSearch.solve(PuzzleState.goal()).orElseThrow().length());
+    }
+
+    @Test
+    void testMatchesBreadthFirstSearch() {
+        SolverAssertions.assertMatchesBreadthFirstSearch(colorComplexSearch, SolverAssertions.STRIDE);
+        for (String notation : new String[]{
+                "4x5 ..BB./...../...../..WW. ..WW./...../...../..BB.",
+                "6x6 ..BB../....../....../....../....../..WW.. ..WW../....../....../....../....../..BB..",
+                "7x5 B...B/...../...../...../...../...../W...W W...W/...../...../...../...../...../B...B"}) {
+            SolverAssertions.assertMatchesBreadthFirstSearch(colorComplexSearch,
+                    new PuzzleState(PuzzleConfig.parse(notation)));
+        }
+    }
+
+    @Test
+    void testSolvesBothComplexes() {
+        PuzzleState start = new PuzzleState(PuzzleConfig.parse(
+                "6x6 ..BB../....../....../....../....../..WW.. ..WW../....../....../....../....../..BB.."));
+        SolverMetrics metrics = new SolverMetrics();
+        assertEquals(12, colorComplexSearch.solve(start, metrics).orElseThrow().length());
+        assertEquals(2, metrics.getDepth());
+        SolverMetrics plain = new SolverMetrics();
+        breadthFirstSearch.solve(start, plain);
+        assertTrue(metrics.getVisitedSize() < plain.getVisitedSize());
+    }
+
+    @Test
+    void testRanksSquaresOfComplexOnly() {
+        SolverMetrics metrics = new SolverMetrics();
+        assertTrue(colorComplexSearch.solve(new PuzzleState(PuzzleConfig.swap(6, 6, 0, 1, 2, 3, 4, 5)), metrics)
+                .isEmpty());
+        assertEquals(memoryBytes(new LayoutRanker(18, 3, 3)), metrics.getMemoryBytes());
+    }
+
+    @Test
+    void testLargeBoard() {
+        SolverMetrics metrics = new SolverMetrics();
+        Solution solution = colorComplexSearch.solve(new PuzzleState(PuzzleConfig.swap(8, 8, 0, 1, 2, 3)), metrics)
+                .orElseThrow();
+        assertEquals(20, solution.length());
+        SolverAssertions.assertValid(solution);
+        assertEquals(memoryBytes(new LayoutRanker(32, 2, 2)), metrics.getMemoryBytes());
+
+        metrics = new SolverMetrics();
+        assertTrue(colorComplexSearch.solve(new PuzzleState(PuzzleConfig.swap(8, 8, 0, 1, 2, 3, 4, 5, 6, 7)), metrics)
+                .isEmpty());
+        assertEquals(78_952, metrics.getVisitedSize());
+    }
+
+    /**
+     * Returns the bytes of the bookkeeping of a {@link CompactBreadthFirstSearch} over the layouts of a ranker.
+     */
+    private static long memoryBytes(LayoutRanker ranker) {
+        return 2L * Integer.BYTES * ranker.size() + ranker.size() / Byte.SIZE;
+    }
+
+}
@@ -0,0 +1,43 @@
+package puzzle;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+import puzzle.solver.CompactBreadthFirstSearch;
+import puzzle.solver.Solution;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactBreadthFirstSearchTest {
+
+    private final CompactBreadthFirstSearch breadthFirstSearch = new CompactBreadthFirstSearch();
+
+    @Test
+    void testSolve() {
+        Optional<Solution> solution = breadthFirstSearch.solve(new PuzzleState());
+        assertTrue(solution.isPresent());
+        assertEquals(18, solution.get().length());
+        SolverAssertions.assertValid(solution.get());
+    }
+
+    @Test
+    void testSolveSolved() {
+        Optional<Solution> solution = breadthFirstSearch.solve(PuzzleState.goal());
+        assertTrue(solution.isPresent());
+        assertEquals(0, solution.get().length());
+    }
+
+    @Test
+    void testSolveUnsolvable() {
+        long black = bit(new Position(0, 0)) | bit(new Position(0, 3));
+        long white = bit(new Position(4, 1)) | bit(new Position(4, 3));
+        assertTrue(breadthFirstSearch.solve(new PuzzleState(black, white)).isEmpty());
+    }
+
+    private static long bit(Position p) {
+        return 1L << PuzzleConfig.STANDARD.square(p);
+    }
+}
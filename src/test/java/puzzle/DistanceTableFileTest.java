@@ -0,0 +1,72 @@
+package puzzle;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+import puzzle.solver.DistanceTable;
+import puzzle.solver.DistanceTableFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceTableFileTest {
+
+    private static DistanceTable table;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void setUpTable() {
+        table = DistanceTable.compute();
+    }
+
+    @Test
+    void testWriteAndMap() throws IOException {
+        Path path = directory.resolve("table.bin");
+        DistanceTableFile.write(table, path);
+        LayoutRanker ranker = table.getRanker();
+        assertEquals(DistanceTableFile.HEADER_SIZE + ranker.size(), Files.size(path));
+
+        DistanceTable mapped = DistanceTableFile.map(path);
+        for (var rank = 0; rank < ranker.size(); rank++) {
+            PuzzleState state = ranker.unrank(rank);
+            assertEquals(table.distance(state), mapped.distance(state));
+        }
+        assertEquals(18, mapped.solve(new PuzzleState()).orElseThrow().length());
+    }
+
+    @Test
+    void testMapCorrupt() throws IOException {
+        Path path = directory.resolve("table.bin");
+        DistanceTableFile.write(table, path);
+        byte[] bytes = Files.readAllBytes(path);
+        DistanceTableFile.verify(path, PuzzleConfig.STANDARD);
+        bytes[DistanceTableFile.HEADER_SIZE + 100] ^= 1;
+        Files.write(path, bytes);
+        assertDoesNotThrow(() -> DistanceTableFile.map(path));
+        assertThrows(IOException.class, () -> DistanceTableFile.verify(path, PuzzleConfig.STANDARD));
+
+        bytes[0] = 0;
+        Files.write(path, bytes);
+        assertThrows(IOException.class, () -> DistanceTableFile.map(path));
+
+        Files.write(path, new byte[10]);
+        assertThrows(IOException.class, () -> DistanceTableFile.map(path));
+    }
+
+    @Test
+    void testLoadOrCompute() throws IOException {
+        Path path = directory.resolve("table.bin");
+        DistanceTable computed = DistanceTableFile.loadOrCompute(path);
+        assertTrue(Files.exists(path));
+        assertEquals(18, computed.distance(new PuzzleState()));
+        assertEquals(18, DistanceTableFile.loadOrCompute(path).distance(new PuzzleState()));
+    }
+}
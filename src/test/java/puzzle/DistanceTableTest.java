@@ -0,0 +1,56 @@
+package puzzle;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import puzzle.model.LayoutRanker;
+import puzzle.model.Position;
+import puzzle.model.PuzzleState;
+import puzzle.solver.DistanceTable;
+import puzzle.solver.Solution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceTableTest {
+
+    private static DistanceTable table;
+
+    @BeforeAll
+    static void setUpTable() {
+        table = DistanceTable.compute();
+    }
+
+    @Test
+    void testDistance() {
+        assertEquals(18, table.distance(new PuzzleState()));
+        assertEquals(0, table.distance(PuzzleState.goal()));
+        assertEquals(DistanceTable.UNSOLVABLE, table.distance(new PuzzleState(1L, 0L)));
+    }
+
+    @Test
+    void testBestMove() {
+        PuzzleState state = new PuzzleState();
+        for (int distance = table.distance(state); distance > 0; distance--) {
+            TwoPhaseMoveState.TwoPhaseMove<Position> move = table.bestMove(state).orElseThrow();
+            assertTrue(state.isLegalMove(move));
+            state.makeMove(move);
+            assertEquals(distance - 1, table.distance(state));
+        }
+        assertTrue(state.isSolved());
+        assertTrue(table.bestMove(state).isEmpty());
+    }
+
+    @Test
+    void testDistanceMatchesSolution() {
+        LayoutRanker ranker = table.getRanker();
+        for (var rank = 0; rank < ranker.size(); rank += SolverAssertions.STRIDE) {
+            PuzzleState start = ranker.unrank(rank);
+            assertEquals(table.solve(start).map(Solution::length).orElse(DistanceTable.UNSOLVABLE),
+                    table.distance(start), start::toString);
+        }
+    }
+
+    @Test
+    void testMatchesBreadthFirstSearch() {
+        SolverAssertions.assertMatchesBreadthFirstSearch(table, SolverAssertions.STRIDE);
+    }
+}
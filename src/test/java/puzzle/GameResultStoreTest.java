@@ -0,0 +1,153 @@
+package puzzle;
+
+import gameresult.OnePlayerGameResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import puzzle.results.GameResultStore;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameResultStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAddAndReopen() throws IOException {
+        Path path = directory.resolve("results.jsonl");
+        List<OnePlayerGameResult> expected = new ArrayList<>();
+        try (GameResultStore store = new GameResultStore(path)) {
+            for (var i = 0; i < 5; i++) {
+                OnePlayerGameResult result = result("player" + i, 18 + i);
+                expected.add(result);
+                assertEquals(expected, store.add(result));
+            }
+            assertEquals(expected, store.getAll());
+        }
+        assertEquals(5, Files.readAllLines(path).size());
+        try (GameResultStore store = new GameResultStore(path)) {
+            assertEquals(expected, store.getAll());
+            store.add(result("another", 30));
+            store.flushNow();
+            assertEquals(6, Files.readAllLines(path).size());
+            assertEquals(6, store.getAll().size());
+        }
+    }
+
+    @Test
+    void testFlushesFullBatch() throws Exception {
+        Path path = directory.resolve("results.jsonl");
+        try (GameResultStore store = new GameResultStore(path, null, 3, Duration.ofHours(1))) {
+            store.submit(result("a", 18));
+            store.submit(result("b", 19));
+            store.getAll();
+            assertFalse(Files.exists(path));
+            store.submit(result("c", 20));
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while ((!Files.exists(path) || Files.readAllLines(path).size() < 3) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(3, Files.readAllLines(path).size());
+        }
+    }
+
+    @Test
+    void testCompactsInvalidLines() throws IOException {
+        Path path = directory.resolve("results.jsonl");
+        OnePlayerGameResult result = result("player", 18);
+        try (GameResultStore store = new GameResultStore(path)) {
+            store.add(result);
+        }
+        Files.writeString(path, "{\"playerName\":\"torn", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        try (GameResultStore store = new GameResultStore(path)) {
+            assertEquals(List.of(result), store.getAll());
+        }
+        assertEquals(1, Files.readAllLines(path).size());
+    }
+
+    @Test
+    void testImportsLegacyFile() throws IOException {
+        Path path = directory.resolve("results.jsonl");
+        Path legacyPath = directory.resolve("results.json");
+        Files.writeString(legacyPath, "[{\"playerName\":\"legacy\",\"solved\":true,\"numberOfMoves\":18,"
+                + "\"duration\":\"PT1M\",\"created\":\"2024-05-01T12:00:00Z\"}]");
+        try (GameResultStore store = new GameResultStore(path, legacyPath, 16, Duration.ofSeconds(1))) {
+            List<OnePlayerGameResult> results = store.getAll();
+            assertEquals(1, results.size());
+            assertEquals("legacy", results.get(0).getPlayerName());
+            assertEquals(Duration.ofMinutes(1), results.get(0).getDuration());
+        }
+        assertEquals(1, Files.readAllLines(path).size());
+    }
+
+    @Test
+    void testKeepsResultsUntilLegacyFileIsRead() throws IOException {
+        Path path = directory.resolve("results.jsonl");
+        Path legacyPath = Files.createDirectory(directory.resolve("results.json"));
+        OnePlayerGameResult result = result("player", 18);
+        try (GameResultStore store = new GameResultStore(path, legacyPath, 16, Duration.ofHours(1))) {
+            store.submit(result);
+            assertThrows(IOException.class, store::flushNow);
+            assertThrows(IOException.class, store::getAll);
+            assertFalse(Files.exists(path));
+            Files.delete(legacyPath);
+            Files.writeString(legacyPath, "[{\"playerName\":\"legacy\",\"solved\":true,\"numberOfMoves\":18,"
+                    + "\"duration\":\"PT1M\",\"created\":\"2024-05-01T12:00:00Z\"}]");
+            store.flushNow();
+            List<OnePlayerGameResult> results = store.getAll();
+            assertEquals(2, results.size());
+            assertEquals("legacy", results.get(0).getPlayerName());
+            assertEquals(result, results.get(1));
+        }
+        assertEquals(2, Files.readAllLines(path).size());
+    }
+
+    @Test
+    void testTop() throws IOException {
+        Path path = directory.resolve("results.jsonl");
+        OnePlayerGameResult best = LeaderboardTest.result("best", true, 18, 40);
+        OnePlayerGameResult second = LeaderboardTest.result("second", true, 18, 50);
+        try (GameResultStore store = new GameResultStore(path)) {
+            store.add(LeaderboardTest.result("unsolved", false, 3, 10));
+            store.add(second);
+        }
+        try (GameResultStore store = new GameResultStore(path)) {
+            store.add(best);
+            assertEquals(List.of(best, second), store.getTop(0, 2));
+            assertEquals("unsolved", store.getTop(2, 10).get(0).getPlayerName());
+            assertEquals(3, store.getAll().size());
+        }
+    }
+
+    @Test
+    void testClosed() {
+        GameResultStore store = new GameResultStore(directory.resolve("results.jsonl"));
+        store.close();
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.submit(result("late", 18)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameResultStore(directory.resolve("other.jsonl"), null, 0, Duration.ofSeconds(1)));
+    }
+
+    private static OnePlayerGameResult result(String playerName, int moves) {
+        return OnePlayerGameResult.builder()
+                .playerName(playerName)
+                .solved(true)
+                .numberOfMoves(moves)
+                .duration(Duration.ofSeconds(moves * 3L))
+                .created(ZonedDateTime.of(2024, 5, 1, 12, moves, 0, 0, ZoneId.of("Europe/Budapest")))
+                .build();
+    }
+
+}
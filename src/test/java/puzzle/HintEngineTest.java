@@ -0,0 +1,65 @@
+package puzzle;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import puzzle.TwoPhaseMoveState.TwoPhaseMove;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+import puzzle.solver.DistanceTable;
+import puzzle.solver.HintEngine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HintEngineTest {
+
+    private static HintEngine hintEngine;
+
+    @BeforeAll
+    static void computeTable() {
+        hintEngine = new HintEngine(DistanceTable.compute(), PuzzleConfig.STANDARD);
+    }
+
+    @Test
+    void testFollowHints() {
+        PuzzleState state = new PuzzleState();
+        assertEquals(18, hintEngine.getOptimalLength());
+        for (var moves = 0; moves < 18; moves++) {
+            assertEquals(18 - moves, hintEngine.distance(state));
+            assertEquals(0, hintEngine.movesFromOptimal(state, moves));
+            TwoPhaseMove<Position> move = hintEngine.bestMove(state).orElseThrow();
+            assertTrue(state.isLegalMove(move));
+            state.makeMove(move);
+        }
+        assertTrue(state.isSolved());
+        assertTrue(hintEngine.bestMove(state).isEmpty());
+    }
+
+    @Test
+    void testMovesFromOptimal() {
+        PuzzleState state = new PuzzleState();
+        TwoPhaseMove<Position> best = hintEngine.bestMove(state).orElseThrow();
+        TwoPhaseMove<Position> worse = state.getLegalMoves().stream()
+                .filter(move -> {
+                    PuzzleState next = state.clone();
+                    next.makeMove(move);
+                    return hintEngine.distance(next) == 18;
+                })
+                .findFirst()
+                .orElseThrow();
+        assertNotEquals(best, worse);
+        state.makeMove(worse);
+        assertEquals(1, hintEngine.movesFromOptimal(state, 1));
+        assertEquals(DistanceTable.UNSOLVABLE, hintEngine.movesFromOptimal(new PuzzleState(0b11L, 0b1100L), 0));
+    }
+
+    @Test
+    void testDifferentPuzzle() {
+        PuzzleConfig other = PuzzleConfig.parse(
+                "6x6 ..BB../....../....../....../....../..WW.. ..WW../....../....../....../....../..BB..");
+        assertThrows(IllegalArgumentException.class, () -> hintEngine.bestMove(new PuzzleState(other)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HintEngine(DistanceTable.compute(), other));
+    }
+
+}
@@ -0,0 +1,72 @@
+package puzzle;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleState;
+import puzzle.solver.BishopDistanceHeuristic;
+import puzzle.solver.DistanceTable;
+import puzzle.solver.IterativeDeepeningAStarSearch;
+import puzzle.solver.Solution;
+import puzzle.solver.SolverMetrics;
+import puzzle.solver.SolverMode;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InformedSearchTest {
+
+    private final BishopDistanceHeuristic heuristic = new BishopDistanceHeuristic();
+
+    @Test
+    void testEstimate() {
+        assertEquals(0, heuristic.estimate(PuzzleState.goal()));
+        assertEquals(8, heuristic.estimate(new PuzzleState()));
+        PuzzleState wrongColor = new PuzzleState(1L, new PuzzleState().getWhiteMask());
+        assertEquals(BishopDistanceHeuristic.UNSOLVABLE, heuristic.estimate(wrongColor));
+    }
+
+    @Test
+    void testSolve() {
+        for (SolverMode mode : new SolverMode[]{SolverMode.A_STAR, SolverMode.IDA_STAR}) {
+            Optional<Solution> solution = mode.createSolver().solve(new PuzzleState());
+            assertTrue(solution.isPresent(), mode::toString);
+            assertEquals(18, solution.get().length(), mode::toString);
+            SolverAssertions.assertValid(solution.get());
+        }
+    }
+
+    @Test
+    void testAdmissible() {
+        DistanceTable table = DistanceTable.compute();
+        LayoutRanker ranker = table.getRanker();
+        for (var rank = 0; rank < ranker.size(); rank++) {
+            PuzzleState state = ranker.unrank(rank);
+            int distance = table.distance(state);
+            if (distance != DistanceTable.UNSOLVABLE) {
+                assertTrue(heuristic.estimate(state) <= distance, state::toString);
+            }
+        }
+    }
+
+    @Test
+    void testMatchesBreadthFirstSearch() {
+        SolverAssertions.assertMatchesBreadthFirstSearch(SolverMode.A_STAR.createSolver(), SolverAssertions.STRIDE);
+        SolverAssertions.assertMatchesBreadthFirstSearch(SolverMode.IDA_STAR.createSolver(), SolverAssertions.STRIDE);
+    }
+
+    @Test
+    void testTranspositionTable() {
+        SolverMetrics withTable = new SolverMetrics();
+        SolverMetrics withoutTable = new SolverMetrics();
+        PuzzleState start = new PuzzleState();
+        assertEquals(18, new IterativeDeepeningAStarSearch().solve(start, withTable).orElseThrow().length());
+        assertEquals(18, new IterativeDeepeningAStarSearch(0).solve(start, withoutTable).orElseThrow().length());
+        assertTrue(withTable.getNodesExpanded() < withoutTable.getNodesExpanded());
+        Solution solution = new IterativeDeepeningAStarSearch(16).solve(start).orElseThrow();
+        assertEquals(18, solution.length());
+        SolverAssertions.assertValid(solution);
+        assertThrows(IllegalArgumentException.class, () -> new IterativeDeepeningAStarSearch(12));
+        assertThrows(IllegalArgumentException.class, () -> new IterativeDeepeningAStarSearch(-1));
+    }
+}
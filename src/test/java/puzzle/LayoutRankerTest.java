@@ -0,0 +1,82 @@
+package puzzle;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LayoutRankerTest {
+
+    @Test
+    void testSize() {
+        assertEquals(29_070, PuzzleConfig.STANDARD.getRanker().size());
+        assertEquals(1, new LayoutRanker(4, 0, 0).size());
+        assertEquals(12_870L * 8, new LayoutRanker(16, 8, 1).size());
+        assertThrows(IllegalArgumentException.class, () -> new LayoutRanker(4, 3, 2));
+        assertThrows(IllegalArgumentException.class, () -> new LayoutRanker(64, 20, 20));
+        assertThrows(IllegalStateException.class, () -> new LayoutRanker(64, 8, 8).intSize());
+    }
+
+    @Test
+    void testStandardBoardIsBijective() {
+        assertBijective(PuzzleConfig.STANDARD.getRanker());
+    }
+
+    @Test
+    void testOtherBoardsAreBijective() {
+        assertBijective(new LayoutRanker(9, 2, 1));
+        assertBijective(new LayoutRanker(12, 3, 3));
+        assertBijective(new LayoutRanker(16, 0, 4));
+    }
+
+    @Test
+    void testRestrictedToSquares() {
+        PuzzleConfig config = PuzzleConfig.STANDARD;
+        long squares = 0;
+        for (var square = 0; square < config.getSquares(); square += 2) {
+            squares |= 1L << square;
+        }
+        LayoutRanker ranker = new LayoutRanker(config, squares, 2, 2);
+        assertEquals(new LayoutRanker(10, 2, 2).size(), ranker.size());
+        BitSet seen = new BitSet(ranker.intSize());
+        for (var rank = 0; rank < ranker.size(); rank++) {
+            long black = ranker.unrankBlack(rank);
+            long white = ranker.unrankWhite(rank);
+            assertEquals(0, (black | white) & ~squares);
+            assertEquals(0, black & white);
+            assertEquals(rank, ranker.rank(black, white));
+            seen.set(rank);
+        }
+        assertEquals(ranker.size(), seen.cardinality());
+        assertEquals(config.getRanker().size(), new LayoutRanker(config, config.getBoardMask(), 2, 2).size());
+        assertThrows(IllegalArgumentException.class, () -> new LayoutRanker(config, 1L << 20, 0, 1));
+    }
+
+    @Test
+    void testRankOfState() {
+        LayoutRanker ranker = PuzzleConfig.STANDARD.getRanker();
+        PuzzleState state = new PuzzleState();
+        assertEquals(state, ranker.unrank(ranker.rank(state)));
+    }
+
+    private static void assertBijective(LayoutRanker ranker) {
+        BitSet seen = new BitSet(ranker.intSize());
+        for (var rank = 0; rank < ranker.size(); rank++) {
+            long black = ranker.unrankBlack(rank);
+            long white = ranker.unrankWhite(rank);
+            assertEquals(ranker.getBlackCount(), Long.bitCount(black));
+            assertEquals(ranker.getWhiteCount(), Long.bitCount(white));
+            assertEquals(0, black & white);
+            assertEquals(0, (black | white) >>> ranker.getSquares());
+            long roundTrip = ranker.rank(black, white);
+            assertEquals(rank, roundTrip);
+            assertFalse(seen.get((int) roundTrip));
+            seen.set((int) roundTrip);
+        }
+        assertEquals(ranker.size(), seen.cardinality());
+    }
+}
@@ -0,0 +1,60 @@
+package puzzle;
+
+import gameresult.OnePlayerGameResult;
+import org.junit.jupiter.api.Test;
+import puzzle.results.Leaderboard;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    @Test
+    void testOrder() {
+        OnePlayerGameResult unsolved = result("unsolved", false, 5, 10);
+        OnePlayerGameResult slow = result("slow", true, 18, 300);
+        OnePlayerGameResult fast = result("fast", true, 18, 60);
+        OnePlayerGameResult manyMoves = result("long", true, 25, 30);
+        OnePlayerGameResult tie = result("tie", true, 18, 60);
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.addAll(List.of(unsolved, slow, fast, manyMoves, tie));
+        assertEquals(5, leaderboard.size());
+        assertEquals(List.of(fast, tie, slow, manyMoves, unsolved), leaderboard.top(10));
+        assertEquals(List.of(fast, tie), leaderboard.top(2));
+        assertEquals(List.of(slow, manyMoves), leaderboard.page(2, 2));
+        assertEquals(List.of(unsolved), leaderboard.page(4, 2));
+        assertEquals(List.of(), leaderboard.page(7, 2));
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.page(-1, 2));
+    }
+
+    @Test
+    void testMatchesSorting() {
+        Random random = new Random(7);
+        List<OnePlayerGameResult> results = new ArrayList<>();
+        Leaderboard leaderboard = new Leaderboard();
+        for (var i = 0; i < 1000; i++) {
+            OnePlayerGameResult result = result("player" + i, random.nextInt(4) > 0, 18 + random.nextInt(10),
+                    random.nextInt(100));
+            results.add(result);
+            leaderboard.add(result);
+        }
+        List<OnePlayerGameResult> sorted = new ArrayList<>(results);
+        sorted.sort(Leaderboard.ORDER);
+        assertEquals(sorted, leaderboard.top(results.size()));
+        assertEquals(sorted.subList(100, 150), leaderboard.page(100, 50));
+    }
+
+    static OnePlayerGameResult result(String playerName, boolean solved, int moves, int seconds) {
+        return OnePlayerGameResult.builder()
+                .playerName(playerName)
+                .solved(solved)
+                .numberOfMoves(moves)
+                .duration(Duration.ofSeconds(seconds))
+                .build();
+    }
+
+}
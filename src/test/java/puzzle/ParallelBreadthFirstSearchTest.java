@@ -0,0 +1,50 @@
+package puzzle;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+import puzzle.solver.CompactBreadthFirstSearch;
+import puzzle.solver.ParallelBreadthFirstSearch;
+import puzzle.solver.PuzzleSolver;
+import puzzle.solver.Solution;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelBreadthFirstSearchTest {
+
+    @Test
+    void testSolve() {
+        Optional<Solution> solution = new ParallelBreadthFirstSearch(4).solve(new PuzzleState());
+        assertTrue(solution.isPresent());
+        assertEquals(18, solution.get().length());
+        SolverAssertions.assertValid(solution.get());
+    }
+
+    @Test
+    void testParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelBreadthFirstSearch(0));
+    }
+
+    @Test
+    void testMatchesBreadthFirstSearch() {
+        SolverAssertions.assertMatchesBreadthFirstSearch(new ParallelBreadthFirstSearch(3), SolverAssertions.STRIDE);
+    }
+
+    @Test
+    void testSameMovesAsBreadthFirstSearch() {
+        PuzzleSolver breadthFirstSearch = new CompactBreadthFirstSearch();
+        PuzzleSolver parallelSearch = new ParallelBreadthFirstSearch(4);
+        LayoutRanker ranker = PuzzleConfig.STANDARD.getRanker();
+        for (var rank = 0; rank < ranker.size(); rank += SolverAssertions.STRIDE) {
+            PuzzleState start = ranker.unrank(rank);
+            assertEquals(breadthFirstSearch.solve(start).map(Solution::moves),
+                    parallelSearch.solve(start).map(Solution::moves), start::toString);
+        }
+        PuzzleState start = new PuzzleState(PuzzleConfig.swap(6, 6, 0, 1));
+        assertEquals(breadthFirstSearch.solve(start).map(Solution::moves),
+                parallelSearch.solve(start).map(Solution::moves));
+    }
+}
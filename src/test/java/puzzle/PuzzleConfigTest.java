@@ -0,0 +1,101 @@
+package puzzle;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.Bishop;
+import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleModel;
+import puzzle.model.PuzzleState;
+import puzzle.solver.BishopDistanceHeuristic;
+import puzzle.solver.DistanceTable;
+import puzzle.solver.Solution;
+import puzzle.solver.SolverMode;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleConfigTest {
+
+    private static final String STANDARD = "5x4 .B.B/..../..../..../.W.W .W.W/..../..../..../.B.B";
+
+    @Test
+    void testNotation() {
+        assertEquals(STANDARD, PuzzleConfig.STANDARD.toString());
+        assertEquals(PuzzleConfig.STANDARD, PuzzleConfig.parse(STANDARD));
+        assertEquals(PuzzleConfig.STANDARD.hashCode(), PuzzleConfig.parse(" " + STANDARD + "\n").hashCode());
+        PuzzleConfig config = PuzzleConfig.parse("3x2 B./.W/.. ../W./.B");
+        assertEquals(config, PuzzleConfig.parse(config.toString()));
+        assertEquals(1, config.getBlackCount());
+        assertEquals(1, config.getWhiteCount());
+        assertEquals(Bishop.WHITE, new PuzzleState(config).getBishop(new Position(1, 1)));
+        assertEquals(Bishop.BLACK, PuzzleState.goal(config).getBishop(new Position(2, 1)));
+    }
+
+    @Test
+    void testInvalidNotation() {
+        assertThrows(IllegalArgumentException.class, () -> PuzzleConfig.parse("5x4 .B.B/..../..../..../.W.W"));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleConfig.parse("5by4 B... ...."));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleConfig.parse("9x8 B....... ........"));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleConfig.parse("4x1073741824 B ."));
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleConfig(4, 1 << 30, 0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleConfig.parse("2x2 B./.. ../.."));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleConfig.parse("2x2 B./.. B../.."));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleConfig.parse("2x2 B./.. X./.."));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleConfig.swap(5, 4, 4));
+    }
+
+    @Test
+    void testStandardIsDefault() {
+        assertEquals(PuzzleConfig.STANDARD, new PuzzleState().getConfig());
+        assertEquals(PuzzleConfig.STANDARD, new PuzzleModel().getConfig());
+        if (System.getProperty(PuzzleConfig.SYSTEM_PROPERTY) == null) {
+            assertEquals(PuzzleConfig.STANDARD, PuzzleConfig.fromSystemProperty());
+        }
+    }
+
+    @Test
+    void testLargeBoard() {
+        PuzzleConfig config = PuzzleConfig.swap(8, 8, 0, 1, 2, 3, 4, 5, 6, 7);
+        assertEquals(64, config.getSquares());
+        assertEquals(8, config.getBlackCount());
+        PuzzleState state = new PuzzleState(config);
+        assertFalse(state.isSolved());
+        assertTrue(PuzzleState.goal(config).isSolved());
+        assertEquals(28, new BishopDistanceHeuristic(config).estimate(state));
+
+        PuzzleModel model = new PuzzleModel(config);
+        assertTrue(model.isLegalToMoveFrom(new Position(7, 7)));
+        assertEquals(state.getLegalMoves(), model.getLegalMoves());
+        for (var move : state.getLegalMoves()) {
+            PuzzleState next = state.clone();
+            next.makeMove(move);
+            assertNotEquals(state.getKey(), next.getKey());
+            assertEquals(next.getKey(), next.clone().getKey());
+            assertEquals(next, config.getRanker().unrank(next.getKey()));
+        }
+    }
+
+    @Test
+    void testSolversAgreeOnOtherBoard() {
+        PuzzleConfig config = PuzzleConfig.swap(5, 5, 0, 2);
+        PuzzleState start = new PuzzleState(config);
+        for (SolverMode mode : SolverMode.values()) {
+            Optional<Solution> solution = mode.createSolver().solve(start);
+            assertTrue(solution.isPresent(), mode::toString);
+            assertEquals(12, solution.get().length(), mode::toString);
+            SolverAssertions.assertValid(solution.get());
+        }
+        assertEquals(12, DistanceTable.compute(config).distance(start));
+        assertThrows(IllegalArgumentException.class, () -> DistanceTable.compute().distance(start));
+    }
+
+    @Test
+    void testUnsolvableBoard() {
+        PuzzleConfig config = PuzzleConfig.swap(4, 4, 1, 3);
+        for (SolverMode mode : SolverMode.values()) {
+            assertTrue(mode.createSolver().solve(new PuzzleState(config)).isEmpty(), mode::toString);
+        }
+    }
+
+}
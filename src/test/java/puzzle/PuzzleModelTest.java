@@ -4,8 +4,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import puzzle.model.Bishop;
 import puzzle.model.Position;
+import puzzle.model.PuzzleConfig;
 import puzzle.model.PuzzleModel;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,11 +24,14 @@ class PuzzleModelTest {
 
     @Test
     void testIsOnBoard() {
-        assertTrue(PuzzleModel.isOnBoard(new Position(0, 0)));
-        assertTrue(PuzzleModel.isOnBoard(new Position(4, 3)));
-        assertFalse(PuzzleModel.isOnBoard(new Position(5, 0)));
-        assertFalse(PuzzleModel.isOnBoard(new Position(0, 4)));
-        assertFalse(PuzzleModel.isOnBoard(new Position(-1, -1)));
+        assertTrue(puzzleModel.isOnBoard(new Position(0, 0)));
+        assertTrue(puzzleModel.isOnBoard(new Position(4, 3)));
+        assertFalse(puzzleModel.isOnBoard(new Position(5, 0)));
+        assertFalse(puzzleModel.isOnBoard(new Position(0, 4)));
+        assertFalse(puzzleModel.isOnBoard(new Position(-1, -1)));
+        PuzzleModel wideModel = new PuzzleModel(PuzzleConfig.swap(4, 6, 0, 5));
+        assertTrue(wideModel.isOnBoard(new Position(3, 5)));
+        assertFalse(wideModel.isOnBoard(new Position(4, 0)));
     }
 
     @Test
@@ -139,4 +145,46 @@ class PuzzleModelTest {
         puzzleModel.makeMove(opponentMove);
         assertFalse(puzzleModel.isMoveAllowedByOpposite(destination, Bishop.BLACK));
     }
+
+    @Test
+    void testUndoRedo() {
+        assertFalse(puzzleModel.canUndo());
+        assertFalse(puzzleModel.undo());
+        PuzzleModel start = puzzleModel.clone();
+        var bishop = puzzleModel.bishopProperty(0, 1);
+        TwoPhaseMoveState.TwoPhaseMove<Position> first = new TwoPhaseMoveState.TwoPhaseMove<>(new Position(0, 1), new Position(1, 2));
+        puzzleModel.makeMove(first);
+        PuzzleModel afterFirst = puzzleModel.clone();
+        TwoPhaseMoveState.TwoPhaseMove<Position> second = puzzleModel.getLegalMoves().iterator().next();
+        puzzleModel.makeMove(second);
+        assertTrue(puzzleModel.undo());
+        assertEquals(afterFirst, puzzleModel);
+        assertTrue(puzzleModel.undo());
+        assertEquals(start, puzzleModel);
+        assertEquals(Bishop.BLACK, bishop.get());
+        assertFalse(puzzleModel.canUndo());
+        assertTrue(puzzleModel.redo());
+        assertEquals(Bishop.NONE, bishop.get());
+        assertEquals(afterFirst, puzzleModel);
+        assertTrue(puzzleModel.canRedo());
+        puzzleModel.makeMove(new TwoPhaseMoveState.TwoPhaseMove<>(new Position(1, 2), new Position(0, 1)));
+        assertFalse(puzzleModel.canRedo());
+        assertFalse(puzzleModel.redo());
+        assertEquals(2, puzzleModel.getMoves());
+        assertEquals(start.getKey(), puzzleModel.getKey());
+    }
+
+    @Test
+    void testLastMove() {
+        assertNull(puzzleModel.lastMoveProperty().get());
+        List<TwoPhaseMoveState.TwoPhaseMove<Position>> changes = new ArrayList<>();
+        puzzleModel.lastMoveProperty().addListener((observable, oldMove, newMove) -> changes.add(newMove));
+        TwoPhaseMoveState.TwoPhaseMove<Position> move = new TwoPhaseMoveState.TwoPhaseMove<>(new Position(0, 1), new Position(1, 2));
+        TwoPhaseMoveState.TwoPhaseMove<Position> reverse = new TwoPhaseMoveState.TwoPhaseMove<>(new Position(1, 2), new Position(0, 1));
+        puzzleModel.makeMove(move);
+        puzzleModel.undo();
+        puzzleModel.redo();
+        assertEquals(List.of(move, reverse, move), changes);
+        assertEquals(move, puzzleModel.clone().lastMoveProperty().get());
+    }
 }
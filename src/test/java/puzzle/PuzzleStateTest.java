@@ -0,0 +1,128 @@
+package puzzle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import puzzle.model.Bishop;
+import puzzle.model.Position;
+import puzzle.model.PuzzleModel;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleStateTest {
+
+    private PuzzleState puzzleState;
+
+    @BeforeEach
+    void setUp() {
+        puzzleState = new PuzzleState();
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals(Bishop.BLACK, puzzleState.getBishop(new Position(0, 1)));
+        assertEquals(Bishop.BLACK, puzzleState.getBishop(new Position(0, 3)));
+        assertEquals(Bishop.WHITE, puzzleState.getBishop(new Position(4, 1)));
+        assertEquals(Bishop.WHITE, puzzleState.getBishop(new Position(4, 3)));
+        assertEquals(Bishop.NONE, puzzleState.getBishop(new Position(2, 2)));
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleState(1L, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new PuzzleState(1L << PuzzleConfig.STANDARD.getSquares(), 0L));
+    }
+
+    @Test
+    void testSquare() {
+        for (var square = 0; square < PuzzleConfig.STANDARD.getSquares(); square++) {
+            assertEquals(square, PuzzleConfig.STANDARD.square(PuzzleConfig.STANDARD.position(square)));
+        }
+        assertEquals(new Position(4, 3), PuzzleConfig.STANDARD.position(PuzzleConfig.STANDARD.getSquares() - 1));
+    }
+
+    @Test
+    void testMakeMove() {
+        Position from = new Position(0, 1);
+        Position to = new Position(1, 2);
+        puzzleState.makeMove(new TwoPhaseMoveState.TwoPhaseMove<>(from, to));
+        assertEquals(Bishop.NONE, puzzleState.getBishop(from));
+        assertEquals(Bishop.BLACK, puzzleState.getBishop(to));
+    }
+
+    @Test
+    void testGetLegalMovesIntoBuffer() {
+        int[] buffer = new int[PuzzleConfig.STANDARD.getMaxMoves()];
+        int count = puzzleState.getLegalMoves(buffer);
+        Set<TwoPhaseMoveState.TwoPhaseMove<Position>> legalMoves = new HashSet<>();
+        for (var i = 0; i < count; i++) {
+            int move = buffer[i];
+            assertEquals(move, PuzzleConfig.STANDARD.encodeMove(PuzzleConfig.STANDARD.moveFrom(move), PuzzleConfig.STANDARD.moveTo(move)));
+            legalMoves.add(new TwoPhaseMoveState.TwoPhaseMove<>(PuzzleConfig.STANDARD.position(PuzzleConfig.STANDARD.moveFrom(move)),
+                    PuzzleConfig.STANDARD.position(PuzzleConfig.STANDARD.moveTo(move))));
+        }
+        assertEquals(count, legalMoves.size());
+        assertEquals(puzzleState.getLegalMoves(), legalMoves);
+    }
+
+    @Test
+    void testIsSolved() {
+        assertFalse(puzzleState.isSolved());
+        assertTrue(new PuzzleState(puzzleState.getWhiteMask(), puzzleState.getBlackMask()).isSolved());
+    }
+
+    @Test
+    void testClone() {
+        PuzzleState clonedState = puzzleState.clone();
+        assertEquals(puzzleState, clonedState);
+        assertEquals(puzzleState.hashCode(), clonedState.hashCode());
+        clonedState.makeMove(new TwoPhaseMoveState.TwoPhaseMove<>(new Position(0, 1), new Position(1, 2)));
+        assertNotEquals(puzzleState, clonedState);
+    }
+
+    @Test
+    void testLegalMovesMatchModel() {
+        PuzzleModel puzzleModel = new PuzzleModel();
+        assertEquals(puzzleModel.getLegalMoves(), puzzleState.getLegalMoves());
+        assertEquals(puzzleModel.toString(), puzzleState.toString());
+    }
+
+    @Test
+    void testZobristHashIsIncremental() {
+        Random random = new Random(42);
+        for (PuzzleConfig config : new PuzzleConfig[]{PuzzleConfig.STANDARD, PuzzleConfig.swap(8, 8, 0, 1, 2, 3, 4, 5, 6, 7)}) {
+            PuzzleState state = new PuzzleState(config);
+            int[] moves = new int[config.getMaxMoves()];
+            for (var i = 0; i < 200; i++) {
+                assertEquals(PuzzleState.zobristHash(state.getBlackMask(), state.getWhiteMask()), state.getZobristHash());
+                int count = state.getLegalMoves(moves);
+                int move = moves[random.nextInt(count)];
+                state.makeMove(config.moveFrom(move), config.moveTo(move));
+            }
+        }
+        PuzzleState state = new PuzzleState();
+        state.makeMove(1, 1);
+        assertEquals(new PuzzleState().getZobristHash(), state.getZobristHash());
+        state.makeMove(1, 3);
+        assertEquals(PuzzleState.zobristHash(state.getBlackMask(), state.getWhiteMask()), state.getZobristHash());
+        assertNotEquals(new PuzzleState().getZobristHash(), PuzzleState.goal().getZobristHash());
+        assertEquals(new PuzzleModel().getZobristHash(), new PuzzleState().getZobristHash());
+    }
+
+    @Test
+    void testUnmakeMove() {
+        PuzzleState state = new PuzzleState();
+        int[] moves = new int[PuzzleConfig.STANDARD.getMaxMoves()];
+        int count = state.getLegalMoves(moves);
+        for (var i = 0; i < count; i++) {
+            int from = PuzzleConfig.STANDARD.moveFrom(moves[i]);
+            int to = PuzzleConfig.STANDARD.moveTo(moves[i]);
+            state.makeMove(from, to);
+            assertNotEquals(puzzleState, state);
+            state.unmakeMove(from, to);
+            assertEquals(puzzleState, state);
+            assertEquals(puzzleState.getZobristHash(), state.getZobristHash());
+        }
+    }
+}
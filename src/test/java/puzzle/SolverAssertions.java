@@ -0,0 +1,75 @@
+package puzzle;
+
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+import puzzle.solver.CompactBreadthFirstSearch;
+import puzzle.solver.PuzzleSolver;
+import puzzle.solver.Solution;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Assertions shared by the tests of the solvers.
+ */
+final class SolverAssertions {
+
+    /**
+     * The distance between the ranks of the standard layouts sampled by
+     * {@link #assertMatchesBreadthFirstSearch(PuzzleSolver, int)}.
+     */
+    static final int STRIDE = 37;
+
+    private static final PuzzleSolver BREADTH_FIRST_SEARCH = new CompactBreadthFirstSearch();
+
+    private SolverAssertions() {
+    }
+
+    /**
+     * Asserts that the moves of a solution are legal and lead from its start to the goal.
+     *
+     * @param solution The solution.
+     */
+    static void assertValid(Solution solution) {
+        PuzzleState state = solution.start().clone();
+        for (var move : solution.moves()) {
+            assertTrue(state.isLegalMove(move), move::toString);
+            state.makeMove(move);
+        }
+        assertTrue(state.isSolved());
+    }
+
+    /**
+     * Asserts that a solver finds solutions as short as breadth-first search does, for every layout of the standard
+     * puzzle whose rank is a multiple of the stride.
+     *
+     * @param solver The solver.
+     * @param stride The distance between the ranks of the layouts sampled.
+     */
+    static void assertMatchesBreadthFirstSearch(PuzzleSolver solver, int stride) {
+        LayoutRanker ranker = PuzzleConfig.STANDARD.getRanker();
+        for (var rank = 0; rank < ranker.size(); rank += stride) {
+            assertMatchesBreadthFirstSearch(solver, ranker.unrank(rank));
+        }
+    }
+
+    /**
+     * Asserts that a solver finds a solution as short as breadth-first search does from the specified layout, or none
+     * if breadth-first search finds none.
+     *
+     * @param solver The solver.
+     * @param start  The layout to solve.
+     */
+    static void assertMatchesBreadthFirstSearch(PuzzleSolver solver, PuzzleState start) {
+        Optional<Solution> expected = BREADTH_FIRST_SEARCH.solve(start);
+        Optional<Solution> actual = solver.solve(start);
+        assertEquals(expected.map(Solution::length), actual.map(Solution::length), start::toString);
+        actual.ifPresent(solution -> {
+            assertEquals(start, solution.start());
+            assertValid(solution);
+        });
+    }
+
+}
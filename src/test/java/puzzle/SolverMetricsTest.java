@@ -0,0 +1,96 @@
+package puzzle;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+import puzzle.solver.DistanceTable;
+import puzzle.solver.SolverMetrics;
+import puzzle.solver.SolverMode;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverMetricsTest {
+
+    @Test
+    void testBreadthFirstLevels() {
+        SolverMetrics metrics = new SolverMetrics();
+        assertEquals(18, SolverMode.BREADTH_FIRST.createSolver().solve(new PuzzleState(), metrics).orElseThrow().length());
+        assertFalse(metrics.isRunning());
+        assertEquals("CompactBreadthFirstSearch", metrics.getSolver());
+        assertEquals(18, metrics.getDepth());
+        assertEquals(18, metrics.getLevelNanos().length);
+        assertTrue(metrics.getNodesExpanded() > 0);
+        assertTrue(metrics.getVisitedSize() > metrics.getNodesExpanded());
+        assertTrue(metrics.getPeakFrontierSize() >= metrics.getFrontierSize());
+        assertEquals(metrics.getNodesGenerated() - metrics.getDuplicatesPruned(), metrics.getVisitedSize() - 1);
+        assertTrue(metrics.getBytesPerState() > 0);
+        assertTrue(metrics.getWallNanos() >= Arrays.stream(metrics.getLevelNanos()).sum());
+    }
+
+    @Test
+    void testEverySolverReports() {
+        for (SolverMode mode : SolverMode.values()) {
+            SolverMetrics metrics = new SolverMetrics();
+            mode.createSolver().solve(new PuzzleState(), metrics);
+            assertFalse(metrics.isRunning(), mode::toString);
+            assertTrue(metrics.getDepth() > 0, mode::toString);
+            assertTrue(metrics.getNodesGenerated() >= metrics.getDuplicatesPruned(), mode::toString);
+            assertTrue(metrics.getMemoryBytes() > 0, mode::toString);
+        }
+    }
+
+    @Test
+    void testDistanceTableComputation() {
+        SolverMetrics metrics = new SolverMetrics();
+        DistanceTable.compute(PuzzleConfig.STANDARD, metrics);
+        assertEquals(PuzzleConfig.STANDARD.getRanker().size(), metrics.getMemoryBytes() / (1 + Integer.BYTES));
+        assertTrue(metrics.getVisitedSize() <= PuzzleConfig.STANDARD.getRanker().size());
+        assertEquals(0, metrics.getFrontierSize());
+    }
+
+    @Test
+    void testInterrupted() {
+        PuzzleState ranked = new PuzzleState(PuzzleConfig.swap(6, 6, 0, 1));
+        PuzzleState large = new PuzzleState(PuzzleConfig.swap(8, 8, 0, 1, 2, 3));
+        for (SolverMode mode : SolverMode.values()) {
+            PuzzleState start = switch (mode) {
+                case A_STAR, IDA_STAR, COLOR_COMPLEX -> large;
+                default -> ranked;
+            };
+            SolverMetrics metrics = new SolverMetrics();
+            Thread.currentThread().interrupt();
+            try {
+                assertThrows(CancellationException.class, () -> mode.createSolver().solve(start, metrics),
+                        mode::toString);
+            } finally {
+                assertFalse(Thread.interrupted(), mode::toString);
+            }
+            assertFalse(metrics.isRunning(), mode::toString);
+        }
+    }
+
+    @Test
+    void testRegister() throws JMException {
+        SolverMetrics metrics = new SolverMetrics();
+        metrics.register("test");
+        try {
+            SolverMode.BIDIRECTIONAL.createSolver().solve(new PuzzleState(), metrics);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("puzzle.solver:type=SolverMetrics,name=\"test\"");
+            assertEquals(metrics.getVisitedSize(), server.getAttribute(name, "VisitedSize"));
+            assertEquals("BidirectionalBreadthFirstSearch", server.getAttribute(name, "Solver"));
+        } finally {
+            metrics.unregister();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer()
+                .isRegistered(new ObjectName("puzzle.solver:type=SolverMetrics,name=\"test\"")));
+    }
+
+}
@@ -0,0 +1,95 @@
+package puzzle;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+import puzzle.solver.AStarSearch;
+import puzzle.solver.DistanceTable;
+import puzzle.solver.HintEngine;
+import puzzle.solver.PuzzleSolver;
+import puzzle.solver.Solution;
+import puzzle.solver.SolverService;
+
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverServiceTest {
+
+    @Test
+    void testCachesSolverPerGoal() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        try (SolverService service = new SolverService((config, metrics) -> {
+            created.incrementAndGet();
+            return DistanceTable.compute(config, metrics);
+        })) {
+            assertEquals(0, created.get());
+            assertEquals(18, service.solve(new PuzzleState()).get().orElseThrow().length());
+            LayoutRanker ranker = PuzzleConfig.STANDARD.getRanker();
+            for (var rank = 0; rank < ranker.size(); rank += 101) {
+                service.solve(ranker.unrank(rank)).get();
+            }
+            assertEquals(1, created.get());
+            assertEquals("DistanceTable", service.getMetrics().getSolver());
+            PuzzleConfig other = PuzzleConfig.parse(
+                    "6x6 ..BB../....../....../....../....../..WW.. ..WW../....../....../....../....../..BB..");
+            assertEquals(12, service.solve(new PuzzleState(other)).get().orElseThrow().length());
+            assertEquals(2, created.get());
+        }
+    }
+
+    @Test
+    void testHintEngine() throws Exception {
+        try (SolverService service = new SolverService((config, metrics) -> config.hasSameGoal(PuzzleConfig.STANDARD)
+                ? DistanceTable.compute(config, metrics) : new AStarSearch())) {
+            HintEngine hintEngine = service.hintEngine(PuzzleConfig.STANDARD).get();
+            assertEquals(18, hintEngine.getOptimalLength());
+            assertTrue(hintEngine.bestMove(new PuzzleState()).isPresent());
+            PuzzleConfig other = PuzzleConfig.parse("4x5 ..BB./...../...../..WW. ..WW./...../...../..BB.");
+            ExecutionException e = assertThrows(ExecutionException.class, () -> service.hintEngine(other).get());
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void testCancel() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        PuzzleSolver blocking = (start, metrics) -> {
+            started.countDown();
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            throw new CancellationException();
+        };
+        try (SolverService service = new SolverService((config, metrics) -> blocking)) {
+            CompletableFuture<Optional<Solution>> running = service.solve(new PuzzleState());
+            CompletableFuture<Optional<Solution>> queued = service.solve(new PuzzleState());
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            queued.cancel(true);
+            running.cancel(true);
+            assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+            assertTrue(running.isCancelled());
+            assertTrue(queued.isCancelled());
+        }
+    }
+
+    @Test
+    void testClose() throws Exception {
+        SolverService service = new SolverService((config, metrics) -> DistanceTable.compute(config, metrics));
+        assertTrue(service.solve(new PuzzleState()).get().isPresent());
+        service.close();
+        service.close();
+        assertThrows(IllegalStateException.class, () -> service.solve(new PuzzleState()));
+    }
+
+}
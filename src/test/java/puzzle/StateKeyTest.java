@@ -0,0 +1,70 @@
+package puzzle;
+
+import org.junit.jupiter.api.Test;
+import org.tinylog.Logger;
+import puzzle.model.Position;
+import puzzle.model.PuzzleModel;
+import puzzle.model.PuzzleState;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateKeyTest {
+
+    @Test
+    void testKeyIgnoresMovesAndSelection() {
+        PuzzleModel model = new PuzzleModel();
+        PuzzleModel other = model.clone();
+        other.setMoves(7);
+        assertNotEquals(model, other);
+        assertEquals(model.getKey(), other.getKey());
+    }
+
+    @Test
+    void testKeyIdentifiesLayout() {
+        PuzzleState state = new PuzzleState();
+        PuzzleState swapped = new PuzzleState(state.getWhiteMask(), state.getBlackMask());
+        assertNotEquals(state.getKey(), swapped.getKey());
+        assertEquals(state, new PuzzleState(state.getBlackMask(), state.getWhiteMask()));
+        assertEquals(state.getKey(), new PuzzleState().getKey());
+    }
+
+    /**
+     * Compares the number of nodes expanded by a breadth-first search on the standard start when duplicates are
+     * detected by {@link PuzzleModel#equals(Object)} and by the layout key.
+     */
+    @Test
+    void testKeyReducesExpandedNodes() {
+        int byModel = expandedNodes(model -> model);
+        int byKey = expandedNodes(PuzzleModel::getKey);
+        Logger.info("Expanded nodes on the standard start: {} by model equality, {} by layout key", byModel, byKey);
+        assertTrue(byKey < byModel);
+    }
+
+    private static int expandedNodes(Function<PuzzleModel, Object> key) {
+        PuzzleModel start = new PuzzleModel();
+        Set<Object> visited = new HashSet<>();
+        Deque<PuzzleModel> queue = new ArrayDeque<>();
+        visited.add(key.apply(start));
+        queue.add(start);
+        var expanded = 0;
+        while (!queue.isEmpty()) {
+            PuzzleModel model = queue.poll();
+            if (model.isSolved()) {
+                assertEquals(18, model.getMoves());
+                return expanded;
+            }
+            expanded++;
+            for (TwoPhaseMoveState.TwoPhaseMove<Position> move : model.getLegalMoves()) {
+                PuzzleModel next = model.clone();
+                next.makeMove(move);
+                if (visited.add(key.apply(next))) {
+                    queue.add(next);
+                }
+            }
+        }
+        return fail("No solution found");
+    }
+}
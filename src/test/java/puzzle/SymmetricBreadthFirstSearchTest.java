@@ -0,0 +1,91 @@
+package puzzle;
+
+import org.junit.jupiter.api.Test;
+import puzzle.model.BoardSymmetry;
+import puzzle.model.LayoutRanker;
+import puzzle.model.PuzzleConfig;
+import puzzle.model.PuzzleState;
+import puzzle.solver.CompactBreadthFirstSearch;
+import puzzle.solver.Solution;
+import puzzle.solver.SolverMetrics;
+import puzzle.solver.SymmetricBreadthFirstSearch;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymmetricBreadthFirstSearchTest {
+
+    private final SymmetricBreadthFirstSearch symmetricSearch = new SymmetricBreadthFirstSearch();
+
+    private final CompactBreadthFirstSearch breadthFirstSearch = new CompactBreadthFirstSearch();
+
+    @Test
+    void testSolve() {
+        Optional<Solution> solution = symmetricSearch.solve(new PuzzleState());
+        assertTrue(solution.isPresent());
+        assertEquals(18, solution.get().length());
+        SolverAssertions.assertValid(solution.get());
+        assertEquals(0, symmetricSearch.solve(PuzzleState.goal()).orElseThrow().length());
+    }
+
+    @Test
+    void testSymmetries() {
+        assertEquals(8, BoardSymmetry.all(PuzzleConfig.STANDARD).size());
+        assertEquals(16, BoardSymmetry.all(PuzzleConfig.swap(5, 5, 1, 3)).size());
+        assertTrue(BoardSymmetry.all(PuzzleConfig.STANDARD).get(0).isIdentity());
+        List<BoardSymmetry> symmetries = BoardSymmetry.ofGoal(PuzzleConfig.STANDARD);
+        assertEquals(1, symmetries.size());
+        assertTrue(symmetries.get(0).swapsColors());
+        assertEquals(new PuzzleState(), symmetries.get(0).apply(new PuzzleState()));
+        assertEquals(3, BoardSymmetry.ofGoal(PuzzleConfig.swap(6, 4, 0, 3)).size());
+    }
+
+    @Test
+    void testSymmetriesPreserveMoves() {
+        PuzzleConfig config = PuzzleConfig.swap(5, 5, 1, 3);
+        LayoutRanker ranker = config.getRanker();
+        for (BoardSymmetry symmetry : BoardSymmetry.all(config)) {
+            for (var rank = 0; rank < ranker.size(); rank += 997) {
+                PuzzleState state = ranker.unrank(rank);
+                Set<PuzzleState> images = new HashSet<>();
+                for (var move : state.getLegalMoves()) {
+                    PuzzleState next = state.clone();
+                    next.makeMove(move);
+                    images.add(symmetry.apply(next));
+                }
+                Set<PuzzleState> successors = new HashSet<>();
+                PuzzleState image = symmetry.apply(state);
+                for (var move : image.getLegalMoves()) {
+                    PuzzleState next = image.clone();
+                    next.makeMove(move);
+                    successors.add(next);
+                }
+                assertEquals(successors, images, symmetry::toString);
+            }
+        }
+    }
+
+    @Test
+    void testPathLengthsUnchanged() {
+        SolverAssertions.assertMatchesBreadthFirstSearch(symmetricSearch, SolverAssertions.STRIDE);
+        for (PuzzleConfig config : new PuzzleConfig[]{PuzzleConfig.swap(6, 4, 0, 3), PuzzleConfig.swap(4, 4, 1, 2),
+                PuzzleConfig.swap(5, 5, 1, 3), PuzzleConfig.swap(5, 5, 0, 2), PuzzleConfig.swap(4, 4, 1, 3)}) {
+            SolverAssertions.assertMatchesBreadthFirstSearch(symmetricSearch, new PuzzleState(config));
+        }
+    }
+
+    @Test
+    void testExploresFewerLayouts() {
+        PuzzleState start = new PuzzleState(PuzzleConfig.swap(6, 4, 0, 3));
+        SolverMetrics symmetric = new SolverMetrics();
+        SolverMetrics plain = new SolverMetrics();
+        assertEquals(14, symmetricSearch.solve(start, symmetric).orElseThrow().length());
+        assertEquals(14, breadthFirstSearch.solve(start, plain).orElseThrow().length());
+        assertTrue(3 * symmetric.getVisitedSize() < plain.getVisitedSize());
+    }
+
+}